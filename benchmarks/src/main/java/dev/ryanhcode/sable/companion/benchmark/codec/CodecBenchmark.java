@@ -0,0 +1,92 @@
+package dev.ryanhcode.sable.companion.benchmark.codec;
+
+import dev.ryanhcode.sable.companion.math.BoundingBox3d;
+import dev.ryanhcode.sable.companion.math.Pose3d;
+import dev.ryanhcode.sable.companion.network.CompactPoseCodec;
+import dev.ryanhcode.sable.companion.network.PoseDeltaEncoder;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.codec.ByteBufCodecs;
+import net.minecraft.network.codec.StreamCodec;
+import org.joml.Quaterniond;
+import org.joml.Vector3d;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks a network round trip of a pose and a bounding box through the raw stream codecs, against the same values
+ * sent through the list-based codecs wrapped with {@link ByteBufCodecs#fromCodec}, and through the quantized
+ * {@link CompactPoseCodec}, and the cost of a tick of a parked sub-level through the {@link PoseDeltaEncoder}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodecBenchmark {
+
+    private static final StreamCodec<ByteBuf, Pose3d> POSE_FROM_CODEC = ByteBufCodecs.fromCodec(Pose3d.CODEC);
+    private static final StreamCodec<ByteBuf, BoundingBox3d> BOUNDS_FROM_CODEC = ByteBufCodecs.fromCodec(BoundingBox3d.CODEC);
+
+    private final ByteBuf buf = Unpooled.buffer(1024);
+
+    private final Pose3d decodedPose = new Pose3d();
+    private final Vector3d anchor = new Vector3d(128.0, 64.0, -336.0);
+
+    private final PoseDeltaEncoder deltaEncoder = new PoseDeltaEncoder(100, 1.0 / 256.0, 0.001);
+
+    private Pose3d pose;
+    private BoundingBox3d bounds;
+
+    @Setup
+    public void setup() {
+        this.pose = new Pose3d(
+                new Vector3d(128.5, 72.25, -340.75),
+                new Quaterniond().rotateXYZ(0.3, 1.2, -0.7),
+                new Vector3d(20_000_008.0, 64.0, 20_000_008.0),
+                new Vector3d(1.0, 1.0, 1.0));
+        this.deltaEncoder.encode(this.buf, this.pose);
+        this.bounds = new BoundingBox3d(116.0, 60.0, -352.0, 141.0, 79.0, -329.0);
+    }
+
+    private <T> T roundTrip(final StreamCodec<ByteBuf, T> codec, final T value) {
+        this.buf.clear();
+        codec.encode(this.buf, value);
+        return codec.decode(this.buf);
+    }
+
+    @Benchmark
+    public Pose3d poseStreamCodec() {
+        return this.roundTrip(Pose3d.STREAM_CODEC, this.pose);
+    }
+
+    @Benchmark
+    public Pose3d poseFromCodec() {
+        return this.roundTrip(POSE_FROM_CODEC, this.pose);
+    }
+
+    @Benchmark
+    public Pose3d poseCompact() {
+        this.buf.clear();
+        CompactPoseCodec.encode(this.buf, this.pose, this.anchor, this.pose.rotationPoint());
+        return CompactPoseCodec.decode(this.buf, this.anchor, this.pose.rotationPoint(), this.decodedPose);
+    }
+
+    @Benchmark
+    public boolean poseDeltaParked() {
+        this.buf.clear();
+        return this.deltaEncoder.encode(this.buf, this.pose);
+    }
+
+    @Benchmark
+    public BoundingBox3d boundsStreamCodec() {
+        return this.roundTrip(BoundingBox3d.STREAM_CODEC, this.bounds);
+    }
+
+    @Benchmark
+    public BoundingBox3d boundsFromCodec() {
+        return this.roundTrip(BOUNDS_FROM_CODEC, this.bounds);
+    }
+}
@@ -0,0 +1,63 @@
+package dev.ryanhcode.sable.companion.benchmark.codec;
+
+import dev.ryanhcode.sable.companion.math.BoundingBox3d;
+import dev.ryanhcode.sable.companion.math.Pose3d;
+import dev.ryanhcode.sable.companion.serialization.CompanionNbt;
+import net.minecraft.nbt.NbtOps;
+import net.minecraft.nbt.Tag;
+import org.joml.Quaterniond;
+import org.joml.Vector3d;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks saving and loading a pose and a bounding box through {@link CompanionNbt}, against encoding their codecs
+ * with {@link NbtOps}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NbtBenchmark {
+
+    private final Pose3d decodedPose = new Pose3d();
+    private final BoundingBox3d decodedBounds = new BoundingBox3d();
+
+    private Pose3d pose;
+    private BoundingBox3d bounds;
+
+    @Setup
+    public void setup() {
+        this.pose = new Pose3d(
+                new Vector3d(128.5, 72.25, -340.75),
+                new Quaterniond().rotateXYZ(0.3, 1.2, -0.7),
+                new Vector3d(20_000_008.0, 64.0, 20_000_008.0),
+                new Vector3d(1.0, 1.0, 1.0));
+        this.bounds = new BoundingBox3d(116.0, 60.0, -352.0, 141.0, 79.0, -329.0);
+    }
+
+    @Benchmark
+    public Pose3d poseCodec() {
+        final Tag tag = Pose3d.CODEC.encodeStart(NbtOps.INSTANCE, this.pose).getOrThrow();
+        return Pose3d.CODEC.parse(NbtOps.INSTANCE, tag).getOrThrow();
+    }
+
+    @Benchmark
+    public Pose3d poseDirect() {
+        return CompanionNbt.readPose(CompanionNbt.writePose(this.pose), this.decodedPose);
+    }
+
+    @Benchmark
+    public BoundingBox3d boundsCodec() {
+        final Tag tag = BoundingBox3d.CODEC.encodeStart(NbtOps.INSTANCE, this.bounds).getOrThrow();
+        return BoundingBox3d.CODEC.parse(NbtOps.INSTANCE, tag).getOrThrow();
+    }
+
+    @Benchmark
+    public BoundingBox3d boundsDirect() {
+        return CompanionNbt.readBounds(CompanionNbt.writeBounds(this.bounds), this.decodedBounds);
+    }
+}
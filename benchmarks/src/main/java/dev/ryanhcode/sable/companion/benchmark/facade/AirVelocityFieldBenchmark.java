@@ -0,0 +1,99 @@
+package dev.ryanhcode.sable.companion.benchmark.facade;
+
+import dev.ryanhcode.sable.companion.AirVelocityField;
+import org.joml.Vector3d;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks sampling an {@link AirVelocityField} against evaluating a wind function at every point, for a ship-sized
+ * cloud of surface points.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AirVelocityFieldBenchmark {
+
+    private static final int POINT_COUNT = 4096;
+    private static final int SECTIONS = 4;
+
+    private static final AirVelocityField.Sampler WIND = (x, y, z, dest) -> dest.set(
+            8.0 + 2.0 * Math.sin(x * 0.05) * Math.cos(z * 0.07),
+            0.5 * Math.sin(y * 0.1),
+            3.0 * Math.cos(x * 0.03 + z * 0.02));
+
+    private final AirVelocityField field = new AirVelocityField();
+    private final double[] positions = new double[POINT_COUNT * 3];
+    private final double[] velocities = new double[POINT_COUNT * 3];
+    private final Vector3d dest = new Vector3d();
+
+    @Setup
+    public void setup() {
+        for (int x = 0; x < SECTIONS; x++) {
+            for (int y = 0; y < SECTIONS; y++) {
+                for (int z = 0; z < SECTIONS; z++) {
+                    this.field.setSection(x, y + 4, z, WIND);
+                }
+            }
+        }
+
+        // Points are generated block by block, like the surface blocks of a ship
+        final Random random = new Random(42L);
+        for (int i = 0; i < POINT_COUNT * 3; i += 3) {
+            this.positions[i] = (i / 3) % 64 + random.nextDouble();
+            this.positions[i + 1] = 64.0 + random.nextDouble() * 64.0;
+            this.positions[i + 2] = (i / 3) / 64 + random.nextDouble();
+        }
+    }
+
+    /**
+     * Sets up a field of 64 sections, as a companion would once per tick.
+     */
+    @Benchmark
+    public AirVelocityField build() {
+        this.field.clear();
+        for (int x = 0; x < SECTIONS; x++) {
+            for (int y = 0; y < SECTIONS; y++) {
+                for (int z = 0; z < SECTIONS; z++) {
+                    this.field.setSection(x, y + 4, z, WIND);
+                }
+            }
+        }
+        return this.field;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POINT_COUNT)
+    public double[] evaluatePerPoint() {
+        for (int i = 0; i < POINT_COUNT * 3; i += 3) {
+            WIND.getAirVelocity(this.positions[i], this.positions[i + 1], this.positions[i + 2], this.dest);
+            this.velocities[i] = this.dest.x;
+            this.velocities[i + 1] = this.dest.y;
+            this.velocities[i + 2] = this.dest.z;
+        }
+        return this.velocities;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POINT_COUNT)
+    public double[] samplePerPoint() {
+        for (int i = 0; i < POINT_COUNT * 3; i += 3) {
+            this.field.sample(this.positions[i], this.positions[i + 1], this.positions[i + 2], this.dest);
+            this.velocities[i] = this.dest.x;
+            this.velocities[i + 1] = this.dest.y;
+            this.velocities[i + 2] = this.dest.z;
+        }
+        return this.velocities;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POINT_COUNT)
+    public double[] sampleBulk() {
+        return this.field.sample(this.positions, this.velocities, POINT_COUNT);
+    }
+}
@@ -0,0 +1,384 @@
+package dev.ryanhcode.sable.companion.benchmark.facade;
+
+import dev.ryanhcode.sable.companion.PlotGrid;
+import dev.ryanhcode.sable.companion.SableCompanion;
+import dev.ryanhcode.sable.companion.SubLevelAccess;
+import dev.ryanhcode.sable.companion.SubLevelView;
+import dev.ryanhcode.sable.companion.math.BoundingBox3d;
+import dev.ryanhcode.sable.companion.math.BoundingBox3dc;
+import dev.ryanhcode.sable.companion.math.Pose3d;
+import dev.ryanhcode.sable.companion.testing.ReferenceSableCompanion;
+import dev.ryanhcode.sable.companion.testing.ReferenceSubLevel;
+import dev.ryanhcode.sable.companion.testing.ReferenceSubLevelContainer;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
+import net.minecraft.core.BlockPos;
+import org.joml.Quaterniond;
+import org.joml.Vector3d;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the {@link SableCompanion} query facade against the {@link ReferenceSableCompanion}, registered through
+ * the service loader from the test fixtures and filled with a configurable amount of sub-levels.
+ * <br>
+ * Queries are drawn from a fixed mix where 80% of positions are in the world and 20% are inside sub-level plots,
+ * and where half of the entity-sized boxes are placed on top of a sub-level.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SableCompanionQueryBenchmark {
+
+    private static final int QUERY_COUNT = 4096;
+    private static final int QUERY_MASK = QUERY_COUNT - 1;
+    private static final double PLOT_QUERY_CHANCE = 0.2;
+    private static final int NEAREST_COUNT = 8;
+    private static final double NEAREST_DISTANCE = 256.0;
+    private static final int PAIR_COUNT = 64;
+
+    @Param({"10", "1000", "50000"})
+    public int subLevels;
+
+    private final Vector3d[] positions = new Vector3d[QUERY_COUNT];
+    private final BlockPos[] blockPositions = new BlockPos[QUERY_COUNT];
+    private final BoundingBox3d[] boxes = new BoundingBox3d[QUERY_COUNT];
+    private final Vector3d dest = new Vector3d();
+    private final List<SubLevelAccess> collector = new ArrayList<>();
+    private final BoundingBox3d nearestBounds = new BoundingBox3d();
+    private final BoundingBox3d projectedBounds = new BoundingBox3d();
+    private final long[] packedBlockPositions = new long[QUERY_COUNT];
+    private final LongList packedBlockPositionList = new LongArrayList(QUERY_COUNT);
+    private final SubLevelAccess[] containing = new SubLevelAccess[QUERY_COUNT];
+    private final LongList worldPartition = new LongArrayList(QUERY_COUNT);
+    private final Map<SubLevelAccess, LongList> subLevelPartitions = new HashMap<>();
+    private final double[] interleavedPositions = new double[QUERY_COUNT * 3];
+    private final double[] velocities = new double[QUERY_COUNT * 3];
+    private final double[] projected = new double[QUERY_COUNT * 3];
+    private final double[] pairPositions = new double[PAIR_COUNT * 3];
+    private final double[] pairDistances = new double[PAIR_COUNT * PAIR_COUNT];
+    private final double[] pairGlobalA = new double[PAIR_COUNT * 3];
+    private final double[] pairGlobalB = new double[PAIR_COUNT * 3];
+
+    private SableCompanion companion;
+    private PlotGrid plotGrid;
+    private SubLevelView view;
+    private int cursor;
+
+    @Setup(org.openjdk.jmh.annotations.Level.Trial)
+    public void setup() {
+        final ReferenceSubLevelContainer container = new ReferenceSubLevelContainer();
+        final double extent = populate(container, this.subLevels, 0xC0FFEEL);
+
+        ReferenceSableCompanion.get().setContainer(null, container);
+        this.companion = SableCompanion.INSTANCE;
+        this.plotGrid = this.companion.getPlotGrid(null);
+        this.view = this.companion.forLevel(null);
+
+        final List<ReferenceSubLevel> subLevels = container.getAll();
+        final Random random = new Random(42L);
+
+        for (int i = 0; i < QUERY_COUNT; i++) {
+            final ReferenceSubLevel subLevel = subLevels.get(random.nextInt(subLevels.size()));
+
+            final Vector3d pos;
+            if (random.nextDouble() < PLOT_QUERY_CHANCE) {
+                final BoundingBox3dc local = subLevel.localBounds();
+                pos = new Vector3d(
+                        local.minX() + random.nextDouble() * (local.maxX() - local.minX()),
+                        local.minY() + random.nextDouble() * (local.maxY() - local.minY()),
+                        local.minZ() + random.nextDouble() * (local.maxZ() - local.minZ()));
+            } else {
+                pos = new Vector3d((random.nextDouble() - 0.5) * extent, 60.0 + random.nextDouble() * 120.0, (random.nextDouble() - 0.5) * extent);
+            }
+
+            this.positions[i] = pos;
+            this.blockPositions[i] = BlockPos.containing(pos.x, pos.y, pos.z);
+            this.packedBlockPositions[i] = this.blockPositions[i].asLong();
+            this.packedBlockPositionList.add(this.packedBlockPositions[i]);
+            this.interleavedPositions[i * 3] = pos.x;
+            this.interleavedPositions[i * 3 + 1] = pos.y;
+            this.interleavedPositions[i * 3 + 2] = pos.z;
+
+            final Vector3d boxCenter = random.nextBoolean() ? subLevel.boundingBox().center() : new Vector3d(pos);
+            this.boxes[i] = new BoundingBox3d(boxCenter.x - 0.3, boxCenter.y - 0.9, boxCenter.z - 0.3, boxCenter.x + 0.3, boxCenter.y + 0.9, boxCenter.z + 0.3);
+        }
+
+        System.arraycopy(this.interleavedPositions, PAIR_COUNT * 3, this.pairPositions, 0, PAIR_COUNT * 3);
+    }
+
+    /**
+     * Fills a container with randomly sized, placed and oriented sub-levels.
+     * Sub-levels are spread out to roughly one per 64x64 block area, like a busy server.
+     *
+     * @param container the container to fill
+     * @param count     the amount of sub-levels to create
+     * @param seed      the random seed
+     * @return the side length of the square world area the sub-levels were placed in, centered on the origin
+     */
+    public static double populate(final ReferenceSubLevelContainer container, final int count, final long seed) {
+        final Random random = new Random(seed);
+        final double extent = Math.ceil(Math.sqrt(count)) * 64.0;
+
+        for (int i = 0; i < count; i++) {
+            final double sizeX = 4 + random.nextInt(28);
+            final double sizeY = 4 + random.nextInt(12);
+            final double sizeZ = 4 + random.nextInt(28);
+            final BoundingBox3d localBounds = new BoundingBox3d(0.0, 64.0, 0.0, sizeX, 64.0 + sizeY, sizeZ);
+
+            final Pose3d pose = new Pose3d(
+                    new Vector3d((random.nextDouble() - 0.5) * extent, 60.0 + random.nextDouble() * 120.0, (random.nextDouble() - 0.5) * extent),
+                    new Quaterniond().rotateXYZ(random.nextDouble() * 0.4, random.nextDouble() * Math.PI * 2.0, random.nextDouble() * 0.4),
+                    localBounds.center(),
+                    new Vector3d(1.0));
+
+            container.allocate(new UUID(seed, i), null, localBounds, pose);
+        }
+
+        return extent;
+    }
+
+    private int next() {
+        return this.cursor++ & QUERY_MASK;
+    }
+
+    @Benchmark
+    public void getAllIntersecting(final Blackhole blackhole) {
+        for (final SubLevelAccess subLevel : this.companion.getAllIntersecting(null, this.boxes[this.next()])) {
+            blackhole.consume(subLevel);
+        }
+    }
+
+    @Benchmark
+    public List<SubLevelAccess> getAllIntersectingCollector() {
+        return this.companion.getAllIntersecting(null, this.boxes[this.next()], this.collector);
+    }
+
+    @Benchmark
+    public boolean forEachIntersecting(final Blackhole blackhole) {
+        return this.companion.forEachIntersecting(null, this.boxes[this.next()], subLevel -> {
+            blackhole.consume(subLevel);
+            return true;
+        });
+    }
+
+    @Benchmark
+    public boolean anyIntersecting() {
+        return this.companion.anyIntersecting(null, this.boxes[this.next()]);
+    }
+
+    @Benchmark
+    public List<SubLevelAccess> findNearest() {
+        return this.companion.findNearest(null, this.positions[this.next()], NEAREST_COUNT, NEAREST_DISTANCE, this.collector);
+    }
+
+    /**
+     * The scan that {@link #findNearest()} replaces: a large box query, then a distance check per candidate.
+     */
+    @Benchmark
+    public SubLevelAccess findNearestScan() {
+        final Vector3d pos = this.positions[this.next()];
+        this.nearestBounds.set(pos.x - NEAREST_DISTANCE, pos.y - NEAREST_DISTANCE, pos.z - NEAREST_DISTANCE,
+                pos.x + NEAREST_DISTANCE, pos.y + NEAREST_DISTANCE, pos.z + NEAREST_DISTANCE);
+
+        SubLevelAccess nearest = null;
+        double nearestDistance = Double.POSITIVE_INFINITY;
+        for (final SubLevelAccess subLevel : this.companion.getAllIntersecting(null, this.nearestBounds, this.collector)) {
+            final double distance = this.companion.distanceSquaredWithSubLevels(null, pos, subLevel.boundingBox().center(this.dest));
+            if (distance < nearestDistance) {
+                nearest = subLevel;
+                nearestDistance = distance;
+            }
+        }
+        return nearest;
+    }
+
+    @Benchmark
+    public SubLevelAccess getContaining() {
+        final BlockPos pos = this.blockPositions[this.next()];
+        return this.companion.getContaining(null, pos.getX() >> 4, pos.getZ() >> 4);
+    }
+
+    /**
+     * Looks up the containing sub-level of all query positions one call at a time, as a baseline for the batch lookup.
+     */
+    @Benchmark
+    @OperationsPerInvocation(QUERY_COUNT)
+    public SubLevelAccess[] getContainingLoop() {
+        for (int i = 0; i < QUERY_COUNT; i++) {
+            final long packed = this.packedBlockPositions[i];
+            this.containing[i] = this.companion.getContaining(null, BlockPos.getX(packed) >> 4, BlockPos.getZ(packed) >> 4);
+        }
+        return this.containing;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERY_COUNT)
+    public SubLevelAccess[] getContainingBlocks() {
+        return this.companion.getContainingBlocks(null, this.packedBlockPositions, 0, QUERY_COUNT, this.containing);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERY_COUNT)
+    public Map<SubLevelAccess, LongList> partitionBlocksByContaining() {
+        this.worldPartition.clear();
+        this.subLevelPartitions.clear();
+        this.companion.partitionBlocksByContaining(null, this.packedBlockPositionList, this.worldPartition, this.subLevelPartitions);
+        return this.subLevelPartitions;
+    }
+
+    @Benchmark
+    public SubLevelAccess getContainingView() {
+        final BlockPos pos = this.blockPositions[this.next()];
+        return this.view.getContaining(pos.getX() >> 4, pos.getZ() >> 4);
+    }
+
+    /**
+     * The same lookup as {@link #getContaining()}, inlined against a plot grid snapshot fetched once.
+     */
+    @Benchmark
+    public SubLevelAccess getContainingPlotGrid() {
+        final BlockPos pos = this.blockPositions[this.next()];
+        return this.plotGrid.getContaining(pos.getX() >> 4, pos.getZ() >> 4);
+    }
+
+    @Benchmark
+    public boolean isInPlotGrid() {
+        return this.companion.isInPlotGrid(null, this.blockPositions[this.next()]);
+    }
+
+    @Benchmark
+    public boolean isInPlotGridPlotGrid() {
+        return this.plotGrid.contains(this.blockPositions[this.next()]);
+    }
+
+    @Benchmark
+    public double distanceSquaredWithSubLevels() {
+        final int i = this.next();
+        return this.companion.distanceSquaredWithSubLevels(null, this.positions[i], this.positions[(i + 1) & QUERY_MASK]);
+    }
+
+    /**
+     * Computes the distance between every pair of two sets of query positions one call at a time, as a baseline for
+     * the batch distances.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PAIR_COUNT * PAIR_COUNT)
+    public double[] distanceSquaredWithSubLevelsLoop() {
+        for (int i = 0; i < PAIR_COUNT; i++) {
+            for (int j = 0; j < PAIR_COUNT; j++) {
+                this.pairDistances[i * PAIR_COUNT + j] = this.companion.distanceSquaredWithSubLevels(null, this.positions[i], this.positions[PAIR_COUNT + j]);
+            }
+        }
+        return this.pairDistances;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIR_COUNT * PAIR_COUNT)
+    public double[] distancesSquaredWithSubLevels() {
+        return this.companion.distancesSquaredWithSubLevels(null, this.interleavedPositions, PAIR_COUNT, this.pairPositions, PAIR_COUNT, this.pairDistances);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIR_COUNT * PAIR_COUNT)
+    public double[] distancesSquaredWithSubLevelsScratch() {
+        return this.companion.distancesSquaredWithSubLevels(null, this.interleavedPositions, PAIR_COUNT, this.pairPositions, PAIR_COUNT, this.pairGlobalA, this.pairGlobalB, this.pairDistances);
+    }
+
+    @Benchmark
+    public Vector3d projectOutOfSubLevel() {
+        return this.companion.projectOutOfSubLevel(null, this.positions[this.next()], this.dest);
+    }
+
+    @Benchmark
+    public Vector3d projectOutOfSubLevelView() {
+        return this.view.projectOutOfSubLevel(this.positions[this.next()], this.dest);
+    }
+
+    /**
+     * Projects all query positions one call at a time, as a baseline for the batch projection.
+     */
+    @Benchmark
+    @OperationsPerInvocation(QUERY_COUNT)
+    public double[] projectOutOfSubLevelLoop() {
+        for (int i = 0; i < QUERY_COUNT; i++) {
+            this.companion.projectOutOfSubLevel(null, this.positions[i], this.dest);
+            this.projected[i * 3] = this.dest.x;
+            this.projected[i * 3 + 1] = this.dest.y;
+            this.projected[i * 3 + 2] = this.dest.z;
+        }
+        return this.projected;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERY_COUNT)
+    public double[] projectOutOfSubLevelBatch() {
+        System.arraycopy(this.interleavedPositions, 0, this.projected, 0, QUERY_COUNT * 3);
+        return this.companion.projectOutOfSubLevel(null, this.projected, QUERY_COUNT);
+    }
+
+    @Benchmark
+    public BoundingBox3d projectOutOfSubLevelBounds() {
+        return this.companion.projectOutOfSubLevel(null, this.boxes[this.next()], this.projectedBounds);
+    }
+
+    /**
+     * Computes the velocity of all query positions one call at a time, as a baseline for the batch velocities.
+     */
+    @Benchmark
+    @OperationsPerInvocation(QUERY_COUNT)
+    public double[] getVelocityLoop() {
+        for (int i = 0; i < QUERY_COUNT; i++) {
+            this.companion.getVelocity(null, this.positions[i], this.dest);
+            this.velocities[i * 3] = this.dest.x;
+            this.velocities[i * 3 + 1] = this.dest.y;
+            this.velocities[i * 3 + 2] = this.dest.z;
+        }
+        return this.velocities;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERY_COUNT)
+    public double[] getVelocities() {
+        return this.companion.getVelocities(null, this.interleavedPositions, this.velocities, QUERY_COUNT);
+    }
+
+    /**
+     * A per-entity tick: a collision query, a containment check and a distance check.
+     */
+    @Benchmark
+    public void entityTickMix(final Blackhole blackhole) {
+        final int i = this.next();
+
+        for (final SubLevelAccess subLevel : this.companion.getAllIntersecting(null, this.boxes[i])) {
+            blackhole.consume(subLevel);
+        }
+
+        blackhole.consume(this.companion.getContaining(null, this.blockPositions[i]));
+        blackhole.consume(this.companion.distanceSquaredWithSubLevels(null, this.positions[i], this.positions[(i + 1) & QUERY_MASK]));
+    }
+
+    /**
+     * A per-block-entity tick: a plot-grid check, and a projection if the block is in the plot grid.
+     */
+    @Benchmark
+    public void blockEntityTickMix(final Blackhole blackhole) {
+        final int i = this.next();
+
+        if (this.companion.isInPlotGrid(null, this.blockPositions[i])) {
+            blackhole.consume(this.companion.getContaining(null, this.blockPositions[i]));
+            blackhole.consume(this.companion.projectOutOfSubLevel(null, this.positions[i], this.dest));
+        }
+    }
+}
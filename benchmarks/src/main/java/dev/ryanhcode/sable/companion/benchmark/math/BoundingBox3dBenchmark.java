@@ -0,0 +1,68 @@
+package dev.ryanhcode.sable.companion.benchmark.math;
+
+import dev.ryanhcode.sable.companion.math.BoundingBox3d;
+import dev.ryanhcode.sable.companion.math.CompiledPose3d;
+import dev.ryanhcode.sable.companion.math.Pose3d;
+import org.joml.Matrix4d;
+import org.joml.Quaterniond;
+import org.joml.Vector3d;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for {@link dev.ryanhcode.sable.companion.math.BoundingBox3dc} transforms.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoundingBox3dBenchmark {
+
+    private final BoundingBox3d local = new BoundingBox3d(20_000_000.0, 60.0, 20_000_000.0, 20_000_017.0, 71.0, 20_000_013.0);
+    private final BoundingBox3d global = new BoundingBox3d();
+    private final BoundingBox3d dest = new BoundingBox3d();
+    private final Matrix4d matrix = new Matrix4d();
+
+    private Pose3d pose;
+    private CompiledPose3d compiledPose;
+
+    @Setup
+    public void setup() {
+        this.pose = new Pose3d(
+                new Vector3d(128.5, 72.25, -340.75),
+                new Quaterniond().rotateXYZ(0.3, 1.2, -0.7),
+                new Vector3d(20_000_008.0, 64.0, 20_000_008.0),
+                new Vector3d(1.0, 1.0, 1.0));
+        this.compiledPose = new CompiledPose3d(this.pose);
+        this.pose.bakeIntoMatrix(this.matrix);
+        this.local.transform(this.pose, this.global);
+    }
+
+    @Benchmark
+    public BoundingBox3d transformPose() {
+        return this.local.transform(this.pose, this.dest);
+    }
+
+    @Benchmark
+    public BoundingBox3d transformCompiledPose() {
+        return this.local.transform(this.compiledPose, this.dest);
+    }
+
+    @Benchmark
+    public BoundingBox3d transformMatrix() {
+        return this.local.transform(this.matrix, this.dest);
+    }
+
+    @Benchmark
+    public BoundingBox3d transformInversePose() {
+        return this.global.transformInverse(this.pose, this.dest);
+    }
+
+    @Benchmark
+    public BoundingBox3d transformInverseCompiledPose() {
+        return this.global.transformInverse(this.compiledPose, this.dest);
+    }
+}
@@ -0,0 +1,39 @@
+package dev.ryanhcode.sable.companion.benchmark.math;
+
+import dev.ryanhcode.sable.companion.math.JOMLConversion;
+import net.minecraft.world.phys.Vec3;
+import org.joml.Vector3d;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for {@link JOMLConversion} round trips.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JOMLConversionBenchmark {
+
+    private final Vector3d joml = new Vector3d(128.5, 72.25, -340.75);
+    private final Vector3d dest = new Vector3d();
+    private final Vec3 mojang = new Vec3(128.5, 72.25, -340.75);
+
+    @Benchmark
+    public Vec3 mojangToJOMLToMojang() {
+        return JOMLConversion.toMojang(JOMLConversion.toJOML(this.mojang));
+    }
+
+    @Benchmark
+    public Vec3 mojangToJOMLDestToMojang() {
+        return JOMLConversion.toMojang(JOMLConversion.toJOML(this.mojang, this.dest));
+    }
+
+    @Benchmark
+    public Vector3d jomlToMojangToJOML() {
+        return JOMLConversion.toJOML(JOMLConversion.toMojang(this.joml), this.dest);
+    }
+}
@@ -0,0 +1,138 @@
+package dev.ryanhcode.sable.companion.benchmark.math;
+
+import dev.ryanhcode.sable.companion.math.CompiledPose3d;
+import dev.ryanhcode.sable.companion.math.Pose3d;
+import net.minecraft.world.phys.Vec3;
+import org.joml.Matrix4d;
+import org.joml.Quaterniond;
+import org.joml.Vector3d;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the hot {@link dev.ryanhcode.sable.companion.math.Pose3dc} paths.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Pose3dBenchmark {
+
+    private final Vector3d local = new Vector3d();
+    private final Vector3d global = new Vector3d();
+    private final Vector3d dest = new Vector3d();
+    private final Matrix4d matrix = new Matrix4d();
+    private final Pose3d lerpDest = new Pose3d();
+    private final Pose3d composeDest = new Pose3d();
+    private final Matrix4d otherMatrix = new Matrix4d();
+
+    private Pose3d pose;
+    private CompiledPose3d compiledPose;
+    private Pose3d otherPose;
+    private Vec3 localVec3;
+    private Vec3 globalVec3;
+
+    @Setup
+    public void setup() {
+        this.pose = new Pose3d(
+                new Vector3d(128.5, 72.25, -340.75),
+                new Quaterniond().rotateXYZ(0.3, 1.2, -0.7),
+                new Vector3d(20_000_008.0, 64.0, 20_000_008.0),
+                new Vector3d(1.0, 1.0, 1.0));
+        this.otherPose = new Pose3d(
+                new Vector3d(130.0, 73.0, -338.0),
+                new Quaterniond().rotateXYZ(0.35, 1.1, -0.6),
+                new Vector3d(20_000_008.0, 64.0, 20_000_008.0),
+                new Vector3d(1.0, 1.0, 1.0));
+
+        this.compiledPose = new CompiledPose3d(this.pose);
+
+        this.local.set(20_000_012.5, 66.5, 20_000_003.5);
+        this.pose.transformPosition(this.local, this.global);
+        this.localVec3 = new Vec3(this.local.x, this.local.y, this.local.z);
+        this.globalVec3 = new Vec3(this.global.x, this.global.y, this.global.z);
+    }
+
+    @Benchmark
+    public Vector3d transformPosition() {
+        return this.pose.transformPosition(this.local, this.dest);
+    }
+
+    @Benchmark
+    public Vector3d transformPositionInverse() {
+        return this.pose.transformPositionInverse(this.global, this.dest);
+    }
+
+    @Benchmark
+    public Vector3d transformPositionCompiled() {
+        return this.compiledPose.transformPosition(this.local, this.dest);
+    }
+
+    @Benchmark
+    public Vector3d transformPositionInverseCompiled() {
+        return this.compiledPose.transformPositionInverse(this.global, this.dest);
+    }
+
+    /**
+     * Re-compiling an unchanged pose, as done every tick for a sub-level at rest.
+     */
+    @Benchmark
+    public boolean compileUnchanged() {
+        return this.compiledPose.compile(this.pose);
+    }
+
+    @Benchmark
+    public Vec3 transformPositionVec3() {
+        return this.pose.transformPosition(this.localVec3);
+    }
+
+    @Benchmark
+    public Vec3 transformPositionInverseVec3() {
+        return this.pose.transformPositionInverse(this.globalVec3);
+    }
+
+    @Benchmark
+    public Matrix4d bakeIntoMatrix() {
+        return this.pose.bakeIntoMatrix(this.matrix);
+    }
+
+    @Benchmark
+    public Pose3d lerp() {
+        return this.pose.lerp(this.otherPose, 0.35, this.lerpDest);
+    }
+
+    /**
+     * A dead-band check against an equal pose, so every component is compared.
+     */
+    @Benchmark
+    public boolean withinTolerance() {
+        return this.pose.withinTolerance(this.compiledPose, 0.01, 0.01);
+    }
+
+    @Benchmark
+    public Pose3d mul() {
+        return this.pose.mul(this.otherPose, this.composeDest);
+    }
+
+    @Benchmark
+    public Pose3d invert() {
+        return this.pose.invert(this.composeDest);
+    }
+
+    @Benchmark
+    public Pose3d relativeTo() {
+        return this.pose.relativeTo(this.otherPose, this.composeDest);
+    }
+
+    /**
+     * The matrix equivalent of {@link #relativeTo()}, baking both poses and inverting one.
+     */
+    @Benchmark
+    public Matrix4d relativeToMatrix() {
+        return this.otherPose.bakeIntoMatrix(this.otherMatrix).invertAffine()
+                .mul(this.pose.bakeIntoMatrix(this.matrix), this.matrix);
+    }
+}
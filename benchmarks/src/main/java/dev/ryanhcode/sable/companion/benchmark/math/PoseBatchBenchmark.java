@@ -0,0 +1,92 @@
+package dev.ryanhcode.sable.companion.benchmark.math;
+
+import dev.ryanhcode.sable.companion.math.CompiledPose3d;
+import dev.ryanhcode.sable.companion.math.Pose3d;
+import org.joml.Quaterniond;
+import org.joml.Vector3d;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks transforming runs of points through one pose, point by point against the bulk
+ * {@link dev.ryanhcode.sable.companion.math.Pose3dc} methods.
+ * <br>
+ * Every invocation transforms the points forward and back again, so the inputs stay bounded.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PoseBatchBenchmark {
+
+    @Param({"16", "1024"})
+    public int points;
+
+    private final Vector3d point = new Vector3d();
+
+    private Pose3d pose;
+    private CompiledPose3d compiledPose;
+    private double[] xs;
+    private double[] ys;
+    private double[] zs;
+    private double[] xyz;
+
+    @Setup
+    public void setup() {
+        this.pose = new Pose3d(
+                new Vector3d(128.5, 72.25, -340.75),
+                new Quaterniond().rotateXYZ(0.3, 1.2, -0.7),
+                new Vector3d(20_000_008.0, 64.0, 20_000_008.0),
+                new Vector3d(1.0, 1.0, 1.0));
+        this.compiledPose = new CompiledPose3d(this.pose);
+
+        final Random random = new Random(42L);
+        this.xs = new double[this.points];
+        this.ys = new double[this.points];
+        this.zs = new double[this.points];
+        this.xyz = new double[this.points * 3];
+
+        for (int i = 0; i < this.points; i++) {
+            this.xs[i] = this.xyz[i * 3] = 20_000_000.0 + random.nextDouble() * 16.0;
+            this.ys[i] = this.xyz[i * 3 + 1] = 60.0 + random.nextDouble() * 16.0;
+            this.zs[i] = this.xyz[i * 3 + 2] = 20_000_000.0 + random.nextDouble() * 16.0;
+        }
+    }
+
+    @Benchmark
+    public double[] perPoint() {
+        for (int i = 0; i < this.points; i++) {
+            this.pose.transformPosition(this.point.set(this.xs[i], this.ys[i], this.zs[i]));
+            this.pose.transformPositionInverse(this.point);
+            this.xs[i] = this.point.x;
+            this.ys[i] = this.point.y;
+            this.zs[i] = this.point.z;
+        }
+        return this.xs;
+    }
+
+    @Benchmark
+    public double[] batchSoA() {
+        this.pose.transformPositions(this.xs, this.ys, this.zs, 0, this.points);
+        this.pose.transformPositionsInverse(this.xs, this.ys, this.zs, 0, this.points);
+        return this.xs;
+    }
+
+    @Benchmark
+    public double[] batchInterleaved() {
+        this.pose.transformPositions(this.xyz, 0, this.points);
+        this.pose.transformPositionsInverse(this.xyz, 0, this.points);
+        return this.xyz;
+    }
+
+    @Benchmark
+    public double[] batchSoACompiled() {
+        this.compiledPose.transformPositions(this.xs, this.ys, this.zs, 0, this.points);
+        this.compiledPose.transformPositionsInverse(this.xs, this.ys, this.zs, 0, this.points);
+        return this.xs;
+    }
+}
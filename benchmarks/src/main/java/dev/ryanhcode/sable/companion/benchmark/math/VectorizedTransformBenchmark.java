@@ -0,0 +1,72 @@
+package dev.ryanhcode.sable.companion.benchmark.math;
+
+import dev.ryanhcode.sable.companion.math.Pose3d;
+import org.joml.Quaterniond;
+import org.joml.Vector3d;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the optional {@code jdk.incubator.vector} kernel for bulk point transforms against the scalar path.
+ * <br>
+ * Both forks add the incubator module, and the scalar fork turns the kernels off with
+ * {@code -Dsable.companion.vectorize=false}, so the JVM flags only differ in that property.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class VectorizedTransformBenchmark {
+
+    private static final String ADD_MODULE = "--add-modules=jdk.incubator.vector";
+    private static final String SCALAR = "-Dsable.companion.vectorize=false";
+
+    @Param({"1024"})
+    public int points;
+
+    private Pose3d pose;
+    private double[] xs;
+    private double[] ys;
+    private double[] zs;
+
+    @Setup
+    public void setup() {
+        this.pose = new Pose3d(
+                new Vector3d(128.5, 72.25, -340.75),
+                new Quaterniond().rotateXYZ(0.3, 1.2, -0.7),
+                new Vector3d(20_000_008.0, 64.0, 20_000_008.0),
+                new Vector3d(1.0, 1.0, 1.0));
+
+        final Random random = new Random(42L);
+        this.xs = new double[this.points];
+        this.ys = new double[this.points];
+        this.zs = new double[this.points];
+
+        for (int i = 0; i < this.points; i++) {
+            this.xs[i] = 20_000_000.0 + random.nextDouble() * 16.0;
+            this.ys[i] = 60.0 + random.nextDouble() * 16.0;
+            this.zs[i] = 20_000_000.0 + random.nextDouble() * 16.0;
+        }
+    }
+
+    private double[] transformPositions() {
+        this.pose.transformPositions(this.xs, this.ys, this.zs, 0, this.points);
+        this.pose.transformPositionsInverse(this.xs, this.ys, this.zs, 0, this.points);
+        return this.xs;
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {ADD_MODULE, SCALAR})
+    public double[] transformPositionsScalar() {
+        return this.transformPositions();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = ADD_MODULE)
+    public double[] transformPositionsVector() {
+        return this.transformPositions();
+    }
+}
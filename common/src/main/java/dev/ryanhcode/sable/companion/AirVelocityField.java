@@ -0,0 +1,182 @@
+package dev.ryanhcode.sable.companion;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.SectionPos;
+import net.minecraft.util.Mth;
+import org.jetbrains.annotations.Contract;
+import org.joml.Vector3d;
+
+import java.util.Objects;
+
+/**
+ * A coarse air velocity field at chunk section resolution, sampled with trilinear interpolation.
+ * <br>
+ * The air velocity is evaluated once at the eight corners of every section added to the field, so sampling a point
+ * is a hash lookup and a blend instead of a full wind evaluation. Points in sections that were not added sample as
+ * still air. Companions rebuild the field once per tick on the owning thread, and it must not be modified while it
+ * is being sampled.
+ *
+ * @since 1.5.0
+ */
+public final class AirVelocityField {
+
+    private static final int CORNER_VALUES = 8 * 3;
+    private static final double SECTION_SIZE = SectionPos.SECTION_SIZE;
+
+    private final Long2ObjectOpenHashMap<double[]> sections = new Long2ObjectOpenHashMap<>();
+
+    /**
+     * Evaluates the air velocity at a global position.
+     */
+    @FunctionalInterface
+    public interface Sampler {
+
+        /**
+         * @param x    the global X position
+         * @param y    the global Y position
+         * @param z    the global Z position
+         * @param dest will hold the result
+         * @return the air velocity stored in dest [m/s]
+         */
+        Vector3d getAirVelocity(double x, double y, double z, Vector3d dest);
+    }
+
+    /**
+     * Evaluates the air velocity at the eight corners of a section and adds it to this field, replacing any previous
+     * values for the section.
+     *
+     * @param sectionX the section X position
+     * @param sectionY the section Y position
+     * @param sectionZ the section Z position
+     * @param sampler  the air velocity to evaluate
+     */
+    @Contract(mutates = "this")
+    public void setSection(final int sectionX, final int sectionY, final int sectionZ, final Sampler sampler) {
+        final long key = SectionPos.asLong(sectionX, sectionY, sectionZ);
+        double[] corners = this.sections.get(key);
+        if (corners == null) {
+            corners = new double[CORNER_VALUES];
+            this.sections.put(key, corners);
+        }
+
+        final Vector3d velocity = new Vector3d();
+        for (int corner = 0; corner < 8; corner++) {
+            sampler.getAirVelocity(
+                    SectionPos.sectionToBlockCoord(sectionX + (corner & 1)),
+                    SectionPos.sectionToBlockCoord(sectionY + (corner >> 1 & 1)),
+                    SectionPos.sectionToBlockCoord(sectionZ + (corner >> 2 & 1)),
+                    velocity);
+            corners[corner * 3] = velocity.x;
+            corners[corner * 3 + 1] = velocity.y;
+            corners[corner * 3 + 2] = velocity.z;
+        }
+    }
+
+    /**
+     * Removes all sections from this field.
+     */
+    @Contract(mutates = "this")
+    public void clear() {
+        this.sections.clear();
+    }
+
+    /**
+     * @return the amount of sections in this field
+     */
+    @Contract(pure = true)
+    public int size() {
+        return this.sections.size();
+    }
+
+    /**
+     * Samples the air velocity at a global position.
+     *
+     * @param x    the global X position
+     * @param y    the global Y position
+     * @param z    the global Z position
+     * @param dest will hold the result
+     * @return the interpolated air velocity stored in dest [m/s], or zero if the section is not in this field
+     */
+    @Contract(value = "_,_,_,_->param4", mutates = "param4")
+    public Vector3d sample(final double x, final double y, final double z, final Vector3d dest) {
+        final int sectionX = Mth.floor(x) >> SectionPos.SECTION_BITS;
+        final int sectionY = Mth.floor(y) >> SectionPos.SECTION_BITS;
+        final int sectionZ = Mth.floor(z) >> SectionPos.SECTION_BITS;
+        final double[] corners = this.sections.get(SectionPos.asLong(sectionX, sectionY, sectionZ));
+        if (corners == null) {
+            return dest.zero();
+        }
+
+        final double fx = x / SECTION_SIZE - sectionX;
+        final double fy = y / SECTION_SIZE - sectionY;
+        final double fz = z / SECTION_SIZE - sectionZ;
+        return dest.set(
+                interpolate(corners, 0, fx, fy, fz),
+                interpolate(corners, 1, fx, fy, fz),
+                interpolate(corners, 2, fx, fy, fz));
+    }
+
+    /**
+     * Samples the air velocity at many global positions, re-using the section lookup for runs of points in the same
+     * section.
+     *
+     * @param positions the global positions of the points, interleaved as {@code x, y, z}
+     * @param dest      the array to hold the interleaved air velocities [m/s], which may be the positions array
+     * @param count     the amount of points
+     * @return dest
+     */
+    @Contract(value = "_,_,_->param2", mutates = "param2")
+    public double[] sample(final double[] positions, final double[] dest, final int count) {
+        Objects.checkFromIndexSize(0, count * 3, positions.length);
+        Objects.checkFromIndexSize(0, count * 3, dest.length);
+
+        long lastKey = 0L;
+        double[] corners = null;
+        boolean hasLast = false;
+
+        for (int i = 0; i < count * 3; i += 3) {
+            final double x = positions[i];
+            final double y = positions[i + 1];
+            final double z = positions[i + 2];
+            final int sectionX = Mth.floor(x) >> SectionPos.SECTION_BITS;
+            final int sectionY = Mth.floor(y) >> SectionPos.SECTION_BITS;
+            final int sectionZ = Mth.floor(z) >> SectionPos.SECTION_BITS;
+            final long key = SectionPos.asLong(sectionX, sectionY, sectionZ);
+
+            if (!hasLast || key != lastKey) {
+                corners = this.sections.get(key);
+                lastKey = key;
+                hasLast = true;
+            }
+
+            if (corners == null) {
+                dest[i] = 0.0;
+                dest[i + 1] = 0.0;
+                dest[i + 2] = 0.0;
+                continue;
+            }
+
+            final double fx = x / SECTION_SIZE - sectionX;
+            final double fy = y / SECTION_SIZE - sectionY;
+            final double fz = z / SECTION_SIZE - sectionZ;
+            dest[i] = interpolate(corners, 0, fx, fy, fz);
+            dest[i + 1] = interpolate(corners, 1, fx, fy, fz);
+            dest[i + 2] = interpolate(corners, 2, fx, fy, fz);
+        }
+
+        return dest;
+    }
+
+    private static double interpolate(final double[] corners, final int axis, final double fx, final double fy, final double fz) {
+        final double x00 = Mth.lerp(fx, corners[axis], corners[3 + axis]);
+        final double x10 = Mth.lerp(fx, corners[6 + axis], corners[9 + axis]);
+        final double x01 = Mth.lerp(fx, corners[12 + axis], corners[15 + axis]);
+        final double x11 = Mth.lerp(fx, corners[18 + axis], corners[21 + axis]);
+        return Mth.lerp(fz, Mth.lerp(fy, x00, x10), Mth.lerp(fy, x01, x11));
+    }
+
+    @Override
+    public String toString() {
+        return "AirVelocityField{sections=%d}".formatted(this.sections.size());
+    }
+}
@@ -0,0 +1,61 @@
+package dev.ryanhcode.sable.companion;
+
+import net.minecraft.core.Position;
+import net.minecraft.core.SectionPos;
+import net.minecraft.core.Vec3i;
+import net.minecraft.util.Mth;
+import net.minecraft.world.level.ChunkPos;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.Nullable;
+import org.joml.Vector3dc;
+
+/**
+ * A {@link SubLevelView} bound to the client level, obtained from {@link SableCompanion#forClientLevel()}.
+ * Sub-levels are returned as {@link ClientSubLevelAccess}, replacing the {@code getContainingClient} methods.
+ *
+ * @since 1.5.0
+ */
+public interface ClientSubLevelView extends SubLevelView {
+
+    @Override
+    @Contract(pure = true)
+    default @Nullable ClientSubLevelAccess getContaining(final int chunkX, final int chunkZ) {
+        return (ClientSubLevelAccess) SubLevelView.super.getContaining(chunkX, chunkZ);
+    }
+
+    @Override
+    @Contract(pure = true)
+    default @Nullable ClientSubLevelAccess getContaining(final ChunkPos chunkPos) {
+        return this.getContaining(chunkPos.x, chunkPos.z);
+    }
+
+    @Override
+    @Contract(pure = true)
+    default @Nullable ClientSubLevelAccess getContaining(final SectionPos pos) {
+        return this.getContaining(pos.getX(), pos.getZ());
+    }
+
+    @Override
+    @Contract(pure = true)
+    default @Nullable ClientSubLevelAccess getContaining(final Vec3i pos) {
+        return this.getContaining(pos.getX() >> SectionPos.SECTION_BITS, pos.getZ() >> SectionPos.SECTION_BITS);
+    }
+
+    @Override
+    @Contract(pure = true)
+    default @Nullable ClientSubLevelAccess getContaining(final Position pos) {
+        return this.getContaining(pos.x(), pos.z());
+    }
+
+    @Override
+    @Contract(pure = true)
+    default @Nullable ClientSubLevelAccess getContaining(final Vector3dc pos) {
+        return this.getContaining(pos.x(), pos.z());
+    }
+
+    @Override
+    @Contract(pure = true)
+    default @Nullable ClientSubLevelAccess getContaining(final double blockX, final double blockZ) {
+        return this.getContaining(Mth.floor(blockX) >> SectionPos.SECTION_BITS, Mth.floor(blockZ) >> SectionPos.SECTION_BITS);
+    }
+}
@@ -0,0 +1,191 @@
+package dev.ryanhcode.sable.companion;
+
+import net.minecraft.core.SectionPos;
+import net.minecraft.core.Vec3i;
+import net.minecraft.world.level.ChunkPos;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * An immutable snapshot of the plot grid of a level.
+ * <br>
+ * Plots are squares of {@code 1 << plotSizeBits} chunks laid out in a {@code width} by {@code width} grid, starting
+ * at the origin chunk, so finding the plot of a chunk is a subtraction, a shift and an array index.
+ * Implementations publish a new grid whenever a plot is allocated or freed, so a grid should be fetched again
+ * with {@link SableCompanion#getPlotGrid} at least once per tick instead of being held indefinitely.
+ *
+ * @since 1.5.0
+ */
+public final class PlotGrid {
+
+    private final int originChunkX;
+    private final int originChunkZ;
+    private final int plotSizeBits;
+    private final int width;
+    private final int sizeInChunks;
+    private final SubLevelAccess[] plots;
+
+    /**
+     * Creates a plot grid.
+     *
+     * @param originChunkX the minimum chunk X position of the plot grid
+     * @param originChunkZ the minimum chunk Z position of the plot grid
+     * @param plotSizeBits the log2 of the side length of a plot in chunks
+     * @param width        the amount of plots on each side of the plot grid
+     * @param plots        the sub-level occupying each plot, or null for empty plots, indexed by {@code plotZ * width + plotX}.
+     *                     The array is copied
+     */
+    public PlotGrid(final int originChunkX, final int originChunkZ, final int plotSizeBits, final int width, final SubLevelAccess[] plots) {
+        if (plotSizeBits < 0 || plotSizeBits > 16) {
+            throw new IllegalArgumentException("Plot size bits must be in [0, 16], got " + plotSizeBits);
+        }
+        if (width <= 0 || ((long) width << plotSizeBits) > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid plot grid width " + width);
+        }
+        if (plots.length != width * width) {
+            throw new IllegalArgumentException("Expected " + width * width + " plots, got " + plots.length);
+        }
+
+        this.originChunkX = originChunkX;
+        this.originChunkZ = originChunkZ;
+        this.plotSizeBits = plotSizeBits;
+        this.width = width;
+        this.sizeInChunks = width << plotSizeBits;
+        this.plots = Arrays.copyOf(plots, plots.length);
+    }
+
+    /**
+     * Checks if the plot grid contains the given chunk.
+     *
+     * @param chunkX the global chunk X position
+     * @param chunkZ the global chunk Z position
+     * @return If the chunk is inside the plot grid
+     */
+    @Contract(pure = true)
+    public boolean contains(final int chunkX, final int chunkZ) {
+        final int x = chunkX - this.originChunkX;
+        final int z = chunkZ - this.originChunkZ;
+        return x >= 0 && z >= 0 && x < this.sizeInChunks && z < this.sizeInChunks;
+    }
+
+    /**
+     * Checks if the plot grid contains the given block.
+     *
+     * @param pos the global block position
+     * @return If the block is inside the plot grid
+     */
+    @Contract(pure = true)
+    public boolean contains(final Vec3i pos) {
+        return this.contains(pos.getX() >> SectionPos.SECTION_BITS, pos.getZ() >> SectionPos.SECTION_BITS);
+    }
+
+    /**
+     * Gets the index of the plot containing the given chunk.
+     *
+     * @param chunkX the global chunk X position
+     * @param chunkZ the global chunk Z position
+     * @return the plot index, or -1 if the chunk is outside the plot grid
+     */
+    @Contract(pure = true)
+    public int getPlotIndex(final int chunkX, final int chunkZ) {
+        if (!this.contains(chunkX, chunkZ)) {
+            return -1;
+        }
+
+        final int plotX = (chunkX - this.originChunkX) >> this.plotSizeBits;
+        final int plotZ = (chunkZ - this.originChunkZ) >> this.plotSizeBits;
+        return plotZ * this.width + plotX;
+    }
+
+    /**
+     * Gets the sub-level that owns the plot containing the given chunk.
+     *
+     * @param chunkX the global chunk X position
+     * @param chunkZ the global chunk Z position
+     * @return the sub-level, or null if the chunk is outside the plot grid or in an empty plot
+     */
+    @Contract(pure = true)
+    public @Nullable SubLevelAccess getContaining(final int chunkX, final int chunkZ) {
+        final int index = this.getPlotIndex(chunkX, chunkZ);
+        return index >= 0 ? this.plots[index] : null;
+    }
+
+    /**
+     * Gets the sub-level that owns the plot containing the given chunk.
+     *
+     * @param chunkPos the global chunk position
+     * @return the sub-level, or null if the chunk is outside the plot grid or in an empty plot
+     */
+    @Contract(pure = true)
+    public @Nullable SubLevelAccess getContaining(final ChunkPos chunkPos) {
+        return this.getContaining(chunkPos.x, chunkPos.z);
+    }
+
+    /**
+     * Gets the sub-level that owns the plot containing the given block.
+     *
+     * @param pos the global block position
+     * @return the sub-level, or null if the block is outside the plot grid or in an empty plot
+     */
+    @Contract(pure = true)
+    public @Nullable SubLevelAccess getContaining(final Vec3i pos) {
+        return this.getContaining(pos.getX() >> SectionPos.SECTION_BITS, pos.getZ() >> SectionPos.SECTION_BITS);
+    }
+
+    /**
+     * @param plotIndex the plot index, {@code plotZ * width + plotX}
+     * @return the sub-level occupying the plot, or null if the plot is empty
+     */
+    @Contract(pure = true)
+    public @Nullable SubLevelAccess get(final int plotIndex) {
+        return this.plots[plotIndex];
+    }
+
+    /**
+     * @return the minimum chunk X position of the plot grid
+     */
+    @Contract(pure = true)
+    public int originChunkX() {
+        return this.originChunkX;
+    }
+
+    /**
+     * @return the minimum chunk Z position of the plot grid
+     */
+    @Contract(pure = true)
+    public int originChunkZ() {
+        return this.originChunkZ;
+    }
+
+    /**
+     * @return the log2 of the side length of a plot in chunks
+     */
+    @Contract(pure = true)
+    public int plotSizeBits() {
+        return this.plotSizeBits;
+    }
+
+    /**
+     * @return the amount of plots on each side of the plot grid
+     */
+    @Contract(pure = true)
+    public int width() {
+        return this.width;
+    }
+
+    /**
+     * @return the side length of the plot grid in chunks
+     */
+    @Contract(pure = true)
+    public int sizeInChunks() {
+        return this.sizeInChunks;
+    }
+
+    @Override
+    public String toString() {
+        return "PlotGrid{origin=[%d, %d], plotSizeBits=%d, width=%d}"
+                .formatted(this.originChunkX, this.originChunkZ, this.plotSizeBits, this.width);
+    }
+}
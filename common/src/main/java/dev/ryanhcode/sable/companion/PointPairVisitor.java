@@ -0,0 +1,20 @@
+package dev.ryanhcode.sable.companion;
+
+/**
+ * A callback for visiting pairs of points within range of each other, which can stop the visit early.
+ *
+ * @since 1.5.0
+ */
+@FunctionalInterface
+public interface PointPairVisitor {
+
+    /**
+     * Visits a pair of points.
+     *
+     * @param a               the index of the point in the first array
+     * @param b               the index of the point in the second array
+     * @param distanceSquared the global distance squared between the points
+     * @return true to continue visiting, false to stop
+     */
+    boolean visit(final int a, final int b, final double distanceSquared);
+}
@@ -1,6 +1,11 @@
 package dev.ryanhcode.sable.companion;
 
+import dev.ryanhcode.sable.companion.impl.DelegatingSubLevelView;
+import dev.ryanhcode.sable.companion.impl.SableCompanionLoader;
+import dev.ryanhcode.sable.companion.impl.SableCompanionUtil;
+import dev.ryanhcode.sable.companion.math.BoundingBox3d;
 import dev.ryanhcode.sable.companion.math.BoundingBox3dc;
+import it.unimi.dsi.fastutil.longs.LongList;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Position;
 import net.minecraft.core.SectionPos;
@@ -19,8 +24,9 @@ import org.joml.Vector3dc;
 
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
-import java.util.Comparator;
-import java.util.ServiceLoader;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.function.BiFunction;
 
 /**
@@ -42,15 +48,82 @@ public interface SableCompanion {
 
     /**
      * The companion instance.
+     * <br>
+     * Resolved with the service loader, or from the class named by the {@code sable.companion.provider} system
+     * property if it is set.
      */
-    SableCompanion INSTANCE = ServiceLoader.load(SableCompanion.class)
-            .stream().max(Comparator.comparingInt(provider -> {
-                Class<? extends SableCompanion> type = provider.type();
-                LoadPriority annotation = type.getAnnotation(LoadPriority.class);
-                return annotation != null ? annotation.value() : 1000;
-            }))
-            .map(ServiceLoader.Provider::get)
-            .orElseThrow(() -> new RuntimeException("Failed to find sable assembly platform"));
+    SableCompanion INSTANCE = SableCompanionLoader.load();
+
+    /**
+     * The features of the companion instance.
+     * <br>
+     * This is a static final constant, so the JIT folds checks against it and removes guarded code entirely when a
+     * feature is missing, for example when Sable is not installed:
+     * <pre>{@code
+     * if (SableCompanion.FEATURES.hasSubLevels()) {
+     *     final SubLevelAccess subLevel = SableCompanion.INSTANCE.getContaining(level, pos);
+     *     ...
+     * }
+     * }</pre>
+     *
+     * @since 1.5.0
+     */
+    Features FEATURES = INSTANCE.features();
+
+    /**
+     * The features a companion supports, fixed for the lifetime of the game.
+     *
+     * @param hasSubLevels if the companion can have any sub-levels. If false, every query returns no sub-levels
+     * @param hasPlotGrid  if {@link #getPlotGrid} can return a plot grid
+     * @since 1.5.0
+     */
+    record Features(boolean hasSubLevels, boolean hasPlotGrid) {
+
+        /**
+         * The features of a companion without any sub-levels.
+         */
+        public static final Features NONE = new Features(false, false);
+    }
+
+    /**
+     * Gets the features of this companion. Callers should use the constant {@link #FEATURES} instead.
+     *
+     * @return the features of this companion, which must never change
+     * @since 1.5.0
+     */
+    @Contract(pure = true)
+    default Features features() {
+        return new Features(true, false);
+    }
+
+    /**
+     * Gets the queries of this companion bound to a level.
+     * <br>
+     * The default implementation returns a new view on every call that only forwards each query to this companion
+     * with the level, so it saves nothing over calling the companion directly. Implementations may instead cache one
+     * view per level that resolves the sub-levels of the level once.
+     *
+     * @param level the level to bind to
+     * @return a view of the sub-levels of the level, valid for the lifetime of the level
+     * @since 1.5.0
+     */
+    default SubLevelView forLevel(final Level level) {
+        return new DelegatingSubLevelView(this, level);
+    }
+
+    /**
+     * Gets the queries of this companion bound to the client level, returning {@link ClientSubLevelAccess} sub-levels.
+     * The view must be fetched again when the client level changes.
+     * <br>
+     * Like {@link #forLevel(Level)}, the default implementation returns a new forwarding view on every call.
+     *
+     * @return a view of the sub-levels of the client level, or null if there is no client level
+     * @since 1.5.0
+     */
+    default @Nullable ClientSubLevelView forClientLevel() {
+        final Level level = this.getClientLevel();
+        return level != null ? new DelegatingSubLevelView.Client(this, level) : null;
+    }
 
     /**
      * Gets all sublevels that intersect with the given bounding box
@@ -61,6 +134,104 @@ public interface SableCompanion {
     @Contract(pure = true)
     Iterable<? extends SubLevelAccess> getAllIntersecting(final Level level, final BoundingBox3dc bounds);
 
+    /**
+     * Gets all sublevels that intersect with the given bounding box, without allocating a new iterable.
+     *
+     * @param level  the level to check
+     * @param bounds the bounding box to check
+     * @param dest   the caller-owned list to clear and fill with the intersecting sub-levels, usually a reused {@link java.util.ArrayList}
+     * @return dest
+     * @since 1.5.0
+     */
+    @Contract(value = "_,_,_->param3", mutates = "param3")
+    default <T extends List<? super SubLevelAccess>> T getAllIntersecting(final Level level, final BoundingBox3dc bounds, final T dest) {
+        dest.clear();
+        for (final SubLevelAccess subLevel : this.getAllIntersecting(level, bounds)) {
+            dest.add(subLevel);
+        }
+        return dest;
+    }
+
+    /**
+     * Visits all sublevels that intersect with the given bounding box, until the visitor returns false.
+     *
+     * @param level   the level to check
+     * @param bounds  the bounding box to check. <br><strong>NOTE: the bounds must NOT be modified during the visit.
+     *                this will cause undefined behavior!</strong>
+     * @param visitor the visitor, returning true to continue or false to stop
+     * @return true if all intersecting sub-levels were visited, false if the visitor stopped early
+     * @since 1.5.0
+     */
+    default boolean forEachIntersecting(final Level level, final BoundingBox3dc bounds, final SubLevelVisitor visitor) {
+        for (final SubLevelAccess subLevel : this.getAllIntersecting(level, bounds)) {
+            if (!visitor.visit(subLevel)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if any sublevel intersects with the given bounding box
+     *
+     * @param level  the level to check
+     * @param bounds the bounding box to check
+     * @return if at least one sub-level intersects the bounds
+     * @since 1.5.0
+     */
+    @Contract(pure = true)
+    default boolean anyIntersecting(final Level level, final BoundingBox3dc bounds) {
+        return !this.forEachIntersecting(level, bounds, subLevel -> false);
+    }
+
+    /**
+     * Counts the sublevels that intersect with the given bounding box
+     *
+     * @param level  the level to check
+     * @param bounds the bounding box to check
+     * @return the amount of sub-levels intersecting the bounds
+     * @since 1.5.0
+     */
+    @Contract(pure = true)
+    default int countIntersecting(final Level level, final BoundingBox3dc bounds) {
+        int count = 0;
+        for (final SubLevelAccess ignored : this.getAllIntersecting(level, bounds)) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Finds the sub-levels closest to a point, nearest first.
+     * A point inside a plot is projected out of its sub-level first, like {@link #distanceSquaredWithSubLevels}, and
+     * the distance to a sub-level is the global distance to the closest point of its {@link SubLevelAccess#boundingBox()}.
+     * <br>
+     * The default implementation visits all sub-levels within the max distance and keeps the nearest k in dest.
+     * Implementations with a spatial index should search it best-first instead.
+     *
+     * @param level       the level to check
+     * @param point       the point to search around
+     * @param k           the maximum amount of sub-levels to find
+     * @param maxDistance the maximum distance to a sub-level [m]
+     * @param dest        the caller-owned list to clear and fill with the closest sub-levels, in order of increasing distance
+     * @return dest
+     * @since 1.5.0
+     */
+    @Contract(value = "_,_,_,_,_->param5", mutates = "param5")
+    default <T extends List<? super SubLevelAccess>> T findNearest(final Level level, final Vector3dc point, final int k, final double maxDistance, final T dest) {
+        dest.clear();
+        if (k <= 0 || maxDistance < 0.0) {
+            return dest;
+        }
+
+        final Vector3d global = this.projectOutOfSubLevel(level, point, new Vector3d());
+        final BoundingBox3d bounds = new BoundingBox3d(
+                global.x - maxDistance, global.y - maxDistance, global.z - maxDistance,
+                global.x + maxDistance, global.y + maxDistance, global.z + maxDistance);
+        this.forEachIntersecting(level, bounds, new SableCompanionUtil.NearestCollector(global.x, global.y, global.z, k, maxDistance, dest));
+        return dest;
+    }
+
     /**
      * Gets the sub-level that contains the given point in its plot, or null if none do
      *
@@ -169,6 +340,66 @@ public interface SableCompanion {
         return this.getContaining(blockEntity.getLevel(), blockEntity.getBlockPos());
     }
 
+    /**
+     * Gets the sub-levels that contain a batch of chunk positions in their plots.
+     * Consecutive positions in the same chunk are only looked up once, so sorted input is cheapest.
+     *
+     * @param level                the level to check
+     * @param packedChunkPositions the global chunk positions, packed with {@link ChunkPos#asLong(int, int)}
+     * @param offset               the index of the first position
+     * @param count                the amount of positions
+     * @param dest                 will hold the containing sub-level, or null, at the same index as each position
+     * @return dest
+     * @since 1.5.0
+     */
+    @Contract(value = "_,_,_,_,_->param5", mutates = "param5")
+    default SubLevelAccess[] getContainingChunks(final Level level, final long[] packedChunkPositions, final int offset, final int count, final SubLevelAccess[] dest) {
+        return SableCompanionUtil.getContaining((chunkX, chunkZ) -> this.getContaining(level, chunkX, chunkZ), packedChunkPositions, offset, count, dest, false);
+    }
+
+    /**
+     * Gets the sub-levels that contain a batch of block positions in their plots.
+     * Consecutive positions in the same chunk are only looked up once, so sorted input is cheapest.
+     *
+     * @param level                the level to check
+     * @param packedBlockPositions the global block positions, packed with {@link BlockPos#asLong(int, int, int)}
+     * @param offset               the index of the first position
+     * @param count                the amount of positions
+     * @param dest                 will hold the containing sub-level, or null, at the same index as each position
+     * @return dest
+     * @since 1.5.0
+     */
+    @Contract(value = "_,_,_,_,_->param5", mutates = "param5")
+    default SubLevelAccess[] getContainingBlocks(final Level level, final long[] packedBlockPositions, final int offset, final int count, final SubLevelAccess[] dest) {
+        return SableCompanionUtil.getContaining((chunkX, chunkZ) -> this.getContaining(level, chunkX, chunkZ), packedBlockPositions, offset, count, dest, true);
+    }
+
+    /**
+     * Partitions a batch of chunk positions by the sub-level containing them in its plot, in one pass.
+     *
+     * @param level                the level to check
+     * @param packedChunkPositions the global chunk positions, packed with {@link ChunkPos#asLong(int, int)}
+     * @param worldDest            will have all positions not inside a sub-level plot appended to it
+     * @param subLevelDest         will have all positions inside a sub-level plot appended to the list of that sub-level
+     * @since 1.5.0
+     */
+    default void partitionChunksByContaining(final Level level, final LongList packedChunkPositions, final LongList worldDest, final Map<SubLevelAccess, LongList> subLevelDest) {
+        SableCompanionUtil.partitionByContaining((chunkX, chunkZ) -> this.getContaining(level, chunkX, chunkZ), packedChunkPositions, worldDest, subLevelDest, false);
+    }
+
+    /**
+     * Partitions a batch of block positions by the sub-level containing them in its plot, in one pass.
+     *
+     * @param level                the level to check
+     * @param packedBlockPositions the global block positions, packed with {@link BlockPos#asLong(int, int, int)}
+     * @param worldDest            will have all positions not inside a sub-level plot appended to it
+     * @param subLevelDest         will have all positions inside a sub-level plot appended to the list of that sub-level
+     * @since 1.5.0
+     */
+    default void partitionBlocksByContaining(final Level level, final LongList packedBlockPositions, final LongList worldDest, final Map<SubLevelAccess, LongList> subLevelDest) {
+        SableCompanionUtil.partitionByContaining((chunkX, chunkZ) -> this.getContaining(level, chunkX, chunkZ), packedBlockPositions, worldDest, subLevelDest, true);
+    }
+
     /**
      * Gets the sub-level that contains the given point in its plot, or null if none do in the client level
      *
@@ -325,6 +556,57 @@ public interface SableCompanion {
         return this.projectOutOfSubLevel(level, new Vec3(pos.x(), pos.y(), pos.z()));
     }
 
+    /**
+     * Projects many points out of their sublevels in place, if they are within one.
+     * <br>
+     * The default implementation projects the points one by one with
+     * {@link #projectOutOfSubLevel(Level, Vector3dc, Vector3d)}. Implementations that know the poses of their
+     * sub-levels transform consecutive points in the same sub-level together, so points should be grouped by
+     * sub-level where possible.
+     *
+     * @param level     the level to check
+     * @param positions the positions of the points, interleaved as {@code x, y, z}
+     * @param count     the amount of points
+     * @return positions
+     * @since 1.5.0
+     */
+    @Contract(value = "_,_,_->param2", mutates = "param2")
+    default double[] projectOutOfSubLevel(final Level level, final double[] positions, final int count) {
+        Objects.checkFromIndexSize(0, count * 3, positions.length);
+
+        final Vector3d pos = new Vector3d();
+        for (int i = 0; i < count * 3; i += 3) {
+            this.projectOutOfSubLevel(level, pos.set(positions[i], positions[i + 1], positions[i + 2]), pos);
+            positions[i] = pos.x;
+            positions[i + 1] = pos.y;
+            positions[i + 2] = pos.z;
+        }
+
+        return positions;
+    }
+
+    /**
+     * Projects a bounding box out of a sublevel, if its center is within one.
+     * The result is the bounding box around the transformed corners.
+     *
+     * @param level  the level to check
+     * @param bounds the bounding box to project
+     * @param dest   will hold the result, which may be the bounds
+     * @return dest
+     * @since 1.5.0
+     */
+    @Contract(value = "_,_,_->param3", mutates = "param3")
+    default BoundingBox3d projectOutOfSubLevel(final Level level, final BoundingBox3dc bounds, final BoundingBox3d dest) {
+        final SubLevelAccess subLevel = this.getContaining(level,
+                Mth.floor((bounds.minX() + bounds.maxX()) * 0.5) >> SectionPos.SECTION_BITS,
+                Mth.floor((bounds.minZ() + bounds.maxZ()) * 0.5) >> SectionPos.SECTION_BITS);
+        if (subLevel == null) {
+            return dest.set(bounds);
+        }
+
+        return bounds.transform(subLevel.logicalPose(), dest);
+    }
+
     /**
      * Checks positions in a level, including sublevels, for a valid position matching the converter to a non-null value.
      * Priority: World -> World, Sub-level -> World, World -> Sub-level
@@ -463,6 +745,97 @@ public interface SableCompanion {
     @Contract(pure = true)
     double distanceSquaredWithSubLevels(final Level level, final double aX, final double aY, final double aZ, final double bX, final double bY, final double bZ);
 
+    /**
+     * Computes the distance squared between every point of two arrays, taking into account sublevels and their
+     * plots/poses. Every point is projected out of its sub-level once, instead of once per pair.
+     *
+     * @param level  the level to check
+     * @param a      the first points, interleaved as {@code x, y, z}
+     * @param aCount the amount of first points
+     * @param b      the second points, interleaved as {@code x, y, z}
+     * @param bCount the amount of second points
+     * @param dest   the array to hold the distances squared, with the distance between {@code a[i]} and {@code b[j]}
+     *               at {@code i * bCount + j}
+     * @return dest
+     * @since 1.5.0
+     */
+    @Contract(value = "_,_,_,_,_,_->param6", mutates = "param6")
+    default double[] distancesSquaredWithSubLevels(final Level level, final double[] a, final int aCount, final double[] b, final int bCount, final double[] dest) {
+        return this.distancesSquaredWithSubLevels(level, a, aCount, b, bCount, new double[aCount * 3], new double[bCount * 3], dest);
+    }
+
+    /**
+     * Computes the distance squared between every point of two arrays, taking into account sublevels and their
+     * plots/poses, projecting the points into caller-owned arrays instead of allocating copies.
+     *
+     * @param level   the level to check
+     * @param a       the first points, interleaved as {@code x, y, z}
+     * @param aCount  the amount of first points
+     * @param b       the second points, interleaved as {@code x, y, z}
+     * @param bCount  the amount of second points
+     * @param aGlobal the array to hold the projected first points, which may be {@code a} to project them in place
+     * @param bGlobal the array to hold the projected second points, which may be {@code b} to project them in place
+     * @param dest    the array to hold the distances squared, with the distance between {@code a[i]} and {@code b[j]}
+     *                at {@code i * bCount + j}
+     * @return dest
+     * @see #distancesSquaredWithSubLevels(Level, double[], int, double[], int, double[])
+     * @since 1.5.0
+     */
+    @Contract(value = "_,_,_,_,_,_,_,_->param8", mutates = "param6,param7,param8")
+    default double[] distancesSquaredWithSubLevels(final Level level, final double[] a, final int aCount, final double[] b, final int bCount, final double[] aGlobal, final double[] bGlobal, final double[] dest) {
+        return SableCompanionUtil.distancesSquared(
+                this.projectOutOfSubLevel(level, SableCompanionUtil.copyPositions(a, aCount, aGlobal), aCount), aCount,
+                this.projectOutOfSubLevel(level, SableCompanionUtil.copyPositions(b, bCount, bGlobal), bCount), bCount,
+                dest);
+    }
+
+    /**
+     * Visits every pair of points of two arrays within a distance of each other, taking into account sublevels and
+     * their plots/poses, until the visitor returns false. Every point is projected out of its sub-level once, instead
+     * of once per pair.
+     *
+     * @param level              the level to check
+     * @param a                  the first points, interleaved as {@code x, y, z}
+     * @param aCount             the amount of first points
+     * @param b                  the second points, interleaved as {@code x, y, z}
+     * @param bCount             the amount of second points
+     * @param maxDistanceSquared the max distance squared between the points of a visited pair
+     * @param visitor            the visitor, returning true to continue or false to stop
+     * @return true if all pairs in range were visited, false if the visitor stopped early
+     * @since 1.5.0
+     */
+    default boolean forEachPairWithin(final Level level, final double[] a, final int aCount, final double[] b, final int bCount, final double maxDistanceSquared, final PointPairVisitor visitor) {
+        return this.forEachPairWithin(level, a, aCount, b, bCount, new double[aCount * 3], new double[bCount * 3], maxDistanceSquared, visitor);
+    }
+
+    /**
+     * Visits every pair of points of two arrays within a distance of each other, taking into account sublevels and
+     * their plots/poses, until the visitor returns false. The points are projected into caller-owned arrays instead
+     * of allocating copies.
+     *
+     * @param level              the level to check
+     * @param a                  the first points, interleaved as {@code x, y, z}
+     * @param aCount             the amount of first points
+     * @param b                  the second points, interleaved as {@code x, y, z}
+     * @param bCount             the amount of second points
+     * @param aGlobal            the array to hold the projected first points, which may be {@code a} to project them
+     *                           in place
+     * @param bGlobal            the array to hold the projected second points, which may be {@code b} to project them
+     *                           in place
+     * @param maxDistanceSquared the max distance squared between the points of a visited pair
+     * @param visitor            the visitor, returning true to continue or false to stop
+     * @return true if all pairs in range were visited, false if the visitor stopped early
+     * @see #forEachPairWithin(Level, double[], int, double[], int, double, PointPairVisitor)
+     * @since 1.5.0
+     */
+    @Contract(mutates = "param6,param7")
+    default boolean forEachPairWithin(final Level level, final double[] a, final int aCount, final double[] b, final int bCount, final double[] aGlobal, final double[] bGlobal, final double maxDistanceSquared, final PointPairVisitor visitor) {
+        return SableCompanionUtil.forEachPairWithin(
+                this.projectOutOfSubLevel(level, SableCompanionUtil.copyPositions(a, aCount, aGlobal), aCount), aCount,
+                this.projectOutOfSubLevel(level, SableCompanionUtil.copyPositions(b, bCount, bGlobal), bCount), bCount,
+                maxDistanceSquared, visitor);
+    }
+
     /**
      * Gets the global velocity of a point in a level, taking into account sub-level movement.
      *
@@ -567,6 +940,26 @@ public interface SableCompanion {
         return this.getVelocity(level, subLevel, new Vec3(pos.x(), pos.y(), pos.z()));
     }
 
+    /**
+     * Gets the global velocities of many points in a level, taking into account sub-level movement.
+     * The containing sub-level is only looked up again when a point is in a different chunk than the previous point,
+     * so points should be grouped by chunk where possible.
+     *
+     * @param level     the level to check
+     * @param positions the positions of the points, interleaved as {@code x, y, z}
+     * @param dest      the array to hold the interleaved velocities [m/s], which may be the positions array
+     * @param count     the amount of points
+     * @return dest
+     * @since 1.5.0
+     */
+    @Contract(value = "_,_,_,_->param3", mutates = "param3")
+    default double[] getVelocities(final Level level, final double[] positions, final double[] dest, final int count) {
+        return SableCompanionUtil.getVelocities(
+                (chunkX, chunkZ) -> this.getContaining(level, chunkX, chunkZ),
+                (subLevel, pos, out) -> this.getVelocity(level, subLevel, pos, out),
+                null, null, positions, dest, count);
+    }
+
     /**
      * Gets the global velocity of a point in a level relative to the air, taking into account sublevels and their plots/poses
      *
@@ -617,6 +1010,69 @@ public interface SableCompanion {
         return this.getVelocity(level, new Vec3(pos.x(), pos.y(), pos.z()));
     }
 
+    /**
+     * Gets the global velocities of many points in a level relative to the air, taking into account sublevels and
+     * their plots/poses.
+     *
+     * @param level     the level to check
+     * @param positions the positions of the points, interleaved as {@code x, y, z}
+     * @param dest      the array to hold the interleaved velocities [m/s], which may be the positions array
+     * @param count     the amount of points
+     * @return dest
+     * @since 1.5.0
+     */
+    @Contract(value = "_,_,_,_->param3", mutates = "param3")
+    default double[] getVelocitiesRelativeToAir(final Level level, final double[] positions, final double[] dest, final int count) {
+        final AirVelocityField air = this.getAirVelocityField(level);
+        if (air != null) {
+            return SableCompanionUtil.getVelocities(
+                    (chunkX, chunkZ) -> this.getContaining(level, chunkX, chunkZ),
+                    (subLevel, pos, out) -> this.getVelocity(level, subLevel, pos, out),
+                    (pos, out) -> this.projectOutOfSubLevel(level, pos, out),
+                    air, positions, dest, count);
+        }
+
+        Objects.checkFromIndexSize(0, count * 3, positions.length);
+        Objects.checkFromIndexSize(0, count * 3, dest.length);
+
+        final Vector3d pos = new Vector3d();
+        for (int i = 0; i < count * 3; i += 3) {
+            this.getVelocityRelativeToAir(level, pos.set(positions[i], positions[i + 1], positions[i + 2]), pos);
+            dest[i] = pos.x;
+            dest[i + 1] = pos.y;
+            dest[i + 2] = pos.z;
+        }
+
+        return dest;
+    }
+
+    /**
+     * Gets the air velocity field of a level for this tick, for callers that sample the air velocity at many points.
+     * When a field is present, {@link #getVelocitiesRelativeToAir(Level, double[], double[], int)} subtracts its
+     * samples from the point velocities instead of evaluating the air velocity point by point.
+     *
+     * @param level the level to get the air velocity field of
+     * @return the air velocity field, or null if the air is at rest everywhere
+     * @since 1.5.0
+     */
+    @Contract(pure = true)
+    default @Nullable AirVelocityField getAirVelocityField(final Level level) {
+        return null;
+    }
+
+    /**
+     * Gets a snapshot of the plot grid of a level, for callers that want to inline plot lookups in hot loops.
+     * The snapshot is replaced whenever a plot is allocated or freed, so it should be fetched again every tick.
+     *
+     * @param level the level to get the plot grid of
+     * @return the plot grid, or null if the level has no plot grid
+     * @since 1.5.0
+     */
+    @Contract(pure = true)
+    default @Nullable PlotGrid getPlotGrid(final Level level) {
+        return null;
+    }
+
     /**
      * Checks if the plot grid contains the given chunk.
      *
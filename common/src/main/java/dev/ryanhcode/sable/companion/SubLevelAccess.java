@@ -1,9 +1,12 @@
 package dev.ryanhcode.sable.companion;
 
+import dev.ryanhcode.sable.companion.impl.SableCompanionUtil;
 import dev.ryanhcode.sable.companion.math.BoundingBox3dc;
 import dev.ryanhcode.sable.companion.math.Pose3dc;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.Nullable;
+import org.joml.Vector3d;
+import org.joml.Vector3dc;
 
 import java.util.UUID;
 
@@ -26,6 +29,50 @@ public interface SubLevelAccess {
     @Contract(pure = true)
     Pose3dc lastPose();
 
+    /**
+     * Gets the linear velocity of this sub-level, which is the global velocity of its {@link #centerOfRotation()}.
+     * Together with {@link #angularVelocity()}, the global velocity of any point at global position {@code x} in this
+     * sub-level is {@code linearVelocity + angularVelocity × (x - centerOfRotation)}.
+     * <br>
+     * The default implementation derives the velocity from the difference between the last and logical pose, and
+     * allocates a new vector on every call. Implementations should cache it once per tick.
+     *
+     * @return the linear velocity of this sub-level [m/s]
+     * @since 1.5.0
+     */
+    @Contract(pure = true)
+    default Vector3dc linearVelocity() {
+        return SableCompanionUtil.linearVelocity(this.lastPose(), this.logicalPose(), new Vector3d());
+    }
+
+    /**
+     * Gets the angular velocity of this sub-level in global space, as an axis scaled by the rotation rate.
+     * <br>
+     * The default implementation derives the velocity from the rotation between the last and logical orientation, and
+     * allocates a new vector on every call. Implementations should cache it once per tick.
+     *
+     * @return the angular velocity of this sub-level [rad/s]
+     * @see #linearVelocity()
+     * @since 1.5.0
+     */
+    @Contract(pure = true)
+    default Vector3dc angularVelocity() {
+        return SableCompanionUtil.angularVelocity(this.lastPose(), this.logicalPose(), new Vector3d());
+    }
+
+    /**
+     * Gets the global point this sub-level rotates around, which is the global position of the rotation point of
+     * its logical pose.
+     *
+     * @return the global center of rotation of this sub-level
+     * @see #linearVelocity()
+     * @since 1.5.0
+     */
+    @Contract(pure = true)
+    default Vector3dc centerOfRotation() {
+        return this.logicalPose().position();
+    }
+
     /**
      * @return The global bounding box of this sub-level
      */
@@ -0,0 +1,564 @@
+package dev.ryanhcode.sable.companion;
+
+import dev.ryanhcode.sable.companion.math.BoundingBox3d;
+import dev.ryanhcode.sable.companion.math.BoundingBox3dc;
+import it.unimi.dsi.fastutil.longs.LongList;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Position;
+import net.minecraft.core.SectionPos;
+import net.minecraft.core.Vec3i;
+import net.minecraft.util.Mth;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.Vec3;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.Nullable;
+import org.joml.Vector3d;
+import org.joml.Vector3dc;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * The queries of {@link SableCompanion} bound to a single level, obtained from {@link SableCompanion#forLevel(Level)}.
+ * <br>
+ * Every query defaults to the matching {@link SableCompanion} method with the bound level. Implementations may
+ * override them to reuse what they resolved for the level instead of resolving it on every call.
+ *
+ * @since 1.5.0
+ */
+public interface SubLevelView {
+
+    /**
+     * @return the companion this view queries
+     */
+    @Contract(pure = true)
+    SableCompanion companion();
+
+    /**
+     * @return the level this view is bound to
+     */
+    @Contract(pure = true)
+    Level level();
+
+    /**
+     * Gets all sublevels that intersect with the given bounding box
+     *
+     * @param bounds The bounding box to check. <br><strong>NOTE: the bounds must NOT be modified during the iteration.
+     *               this will cause undefined behavior!</strong>
+     * @see SableCompanion#getAllIntersecting(Level, BoundingBox3dc)
+     */
+    @Contract(pure = true)
+    default Iterable<? extends SubLevelAccess> getAllIntersecting(final BoundingBox3dc bounds) {
+        return this.companion().getAllIntersecting(this.level(), bounds);
+    }
+
+    /**
+     * Gets all sublevels that intersect with the given bounding box, without allocating a new iterable.
+     *
+     * @param bounds the bounding box to check
+     * @param dest   the caller-owned list to clear and fill with the intersecting sub-levels
+     * @return dest
+     * @see SableCompanion#getAllIntersecting(Level, BoundingBox3dc, List)
+     */
+    @Contract(value = "_,_->param2", mutates = "param2")
+    default <T extends List<? super SubLevelAccess>> T getAllIntersecting(final BoundingBox3dc bounds, final T dest) {
+        return this.companion().getAllIntersecting(this.level(), bounds, dest);
+    }
+
+    /**
+     * Visits all sublevels that intersect with the given bounding box, until the visitor returns false.
+     *
+     * @param bounds  the bounding box to check
+     * @param visitor the visitor, returning true to continue or false to stop
+     * @return true if all intersecting sub-levels were visited, false if the visitor stopped early
+     * @see SableCompanion#forEachIntersecting(Level, BoundingBox3dc, SubLevelVisitor)
+     */
+    default boolean forEachIntersecting(final BoundingBox3dc bounds, final SubLevelVisitor visitor) {
+        return this.companion().forEachIntersecting(this.level(), bounds, visitor);
+    }
+
+    /**
+     * @param bounds the bounding box to check
+     * @return if at least one sub-level intersects the bounds
+     */
+    @Contract(pure = true)
+    default boolean anyIntersecting(final BoundingBox3dc bounds) {
+        return this.companion().anyIntersecting(this.level(), bounds);
+    }
+
+    /**
+     * @param bounds the bounding box to check
+     * @return the amount of sub-levels intersecting the bounds
+     */
+    @Contract(pure = true)
+    default int countIntersecting(final BoundingBox3dc bounds) {
+        return this.companion().countIntersecting(this.level(), bounds);
+    }
+
+    /**
+     * Finds the sub-levels closest to a point, nearest first
+     *
+     * @param point       the point to search around
+     * @param k           the maximum amount of sub-levels to find
+     * @param maxDistance the maximum distance to a sub-level [m]
+     * @param dest        the caller-owned list to clear and fill with the closest sub-levels
+     * @return dest
+     * @see SableCompanion#findNearest(Level, Vector3dc, int, double, List)
+     */
+    @Contract(value = "_,_,_,_->param4", mutates = "param4")
+    default <T extends List<? super SubLevelAccess>> T findNearest(final Vector3dc point, final int k, final double maxDistance, final T dest) {
+        return this.companion().findNearest(this.level(), point, k, maxDistance, dest);
+    }
+
+    /**
+     * Gets the sub-level that contains the given point in its plot, or null if none do
+     *
+     * @param chunkX the global chunk X position
+     * @param chunkZ the global chunk Z position
+     * @return the sub-level that contains the point, or null if none do
+     */
+    @Contract(pure = true)
+    default @Nullable SubLevelAccess getContaining(final int chunkX, final int chunkZ) {
+        return this.companion().getContaining(this.level(), chunkX, chunkZ);
+    }
+
+    /**
+     * Gets the sub-level that contains the given point in its plot, or null if none do
+     *
+     * @param chunkPos the global chunk position to check
+     * @return the sub-level that contains the point, or null if none do
+     */
+    @Contract(pure = true)
+    default @Nullable SubLevelAccess getContaining(final ChunkPos chunkPos) {
+        return this.getContaining(chunkPos.x, chunkPos.z);
+    }
+
+    /**
+     * Gets the sub-level that contains the given point in its plot, or null if none do
+     *
+     * @param pos the global section position to check
+     * @return the sub-level that contains the point, or null if none do
+     */
+    @Contract(pure = true)
+    default @Nullable SubLevelAccess getContaining(final SectionPos pos) {
+        return this.getContaining(pos.getX(), pos.getZ());
+    }
+
+    /**
+     * Gets the sub-level that contains the given point in its plot, or null if none do
+     *
+     * @param pos the global position to check
+     * @return the sub-level that contains the point, or null if none do
+     */
+    @Contract(pure = true)
+    default @Nullable SubLevelAccess getContaining(final Vec3i pos) {
+        return this.getContaining(pos.getX() >> SectionPos.SECTION_BITS, pos.getZ() >> SectionPos.SECTION_BITS);
+    }
+
+    /**
+     * Gets the sub-level that contains the given point in its plot, or null if none do
+     *
+     * @param pos the global position to check
+     * @return the sub-level that contains the point, or null if none do
+     */
+    @Contract(pure = true)
+    default @Nullable SubLevelAccess getContaining(final Position pos) {
+        return this.getContaining(pos.x(), pos.z());
+    }
+
+    /**
+     * Gets the sub-level that contains the given point in its plot, or null if none do
+     *
+     * @param pos the global position to check
+     * @return the sub-level that contains the point, or null if none do
+     */
+    @Contract(pure = true)
+    default @Nullable SubLevelAccess getContaining(final Vector3dc pos) {
+        return this.getContaining(pos.x(), pos.z());
+    }
+
+    /**
+     * Gets the sub-level that contains the given point in its plot, or null if none do
+     *
+     * @param blockX the global X position to check
+     * @param blockZ the global Z position to check
+     * @return the sub-level that contains the point, or null if none do
+     */
+    @Contract(pure = true)
+    default @Nullable SubLevelAccess getContaining(final double blockX, final double blockZ) {
+        return this.getContaining(Mth.floor(blockX) >> SectionPos.SECTION_BITS, Mth.floor(blockZ) >> SectionPos.SECTION_BITS);
+    }
+
+    /**
+     * Gets the sub-levels that contain a batch of chunk positions in their plots.
+     *
+     * @param packedChunkPositions the global chunk positions, packed with {@link ChunkPos#asLong(int, int)}
+     * @param offset               the index of the first position
+     * @param count                the amount of positions
+     * @param dest                 will hold the containing sub-level, or null, at the same index as each position
+     * @return dest
+     * @see SableCompanion#getContainingChunks(Level, long[], int, int, SubLevelAccess[])
+     */
+    @Contract(value = "_,_,_,_->param4", mutates = "param4")
+    default SubLevelAccess[] getContainingChunks(final long[] packedChunkPositions, final int offset, final int count, final SubLevelAccess[] dest) {
+        return this.companion().getContainingChunks(this.level(), packedChunkPositions, offset, count, dest);
+    }
+
+    /**
+     * Gets the sub-levels that contain a batch of block positions in their plots.
+     *
+     * @param packedBlockPositions the global block positions, packed with {@link BlockPos#asLong(int, int, int)}
+     * @param offset               the index of the first position
+     * @param count                the amount of positions
+     * @param dest                 will hold the containing sub-level, or null, at the same index as each position
+     * @return dest
+     * @see SableCompanion#getContainingBlocks(Level, long[], int, int, SubLevelAccess[])
+     */
+    @Contract(value = "_,_,_,_->param4", mutates = "param4")
+    default SubLevelAccess[] getContainingBlocks(final long[] packedBlockPositions, final int offset, final int count, final SubLevelAccess[] dest) {
+        return this.companion().getContainingBlocks(this.level(), packedBlockPositions, offset, count, dest);
+    }
+
+    /**
+     * Partitions a batch of chunk positions by the sub-level containing them in its plot, in one pass.
+     *
+     * @see SableCompanion#partitionChunksByContaining(Level, LongList, LongList, Map)
+     */
+    default void partitionChunksByContaining(final LongList packedChunkPositions, final LongList worldDest, final Map<SubLevelAccess, LongList> subLevelDest) {
+        this.companion().partitionChunksByContaining(this.level(), packedChunkPositions, worldDest, subLevelDest);
+    }
+
+    /**
+     * Partitions a batch of block positions by the sub-level containing them in its plot, in one pass.
+     *
+     * @see SableCompanion#partitionBlocksByContaining(Level, LongList, LongList, Map)
+     */
+    default void partitionBlocksByContaining(final LongList packedBlockPositions, final LongList worldDest, final Map<SubLevelAccess, LongList> subLevelDest) {
+        this.companion().partitionBlocksByContaining(this.level(), packedBlockPositions, worldDest, subLevelDest);
+    }
+
+    /**
+     * Projects a point out of a sublevel, if it is within one
+     *
+     * @param pos  the point to project
+     * @param dest will hold the result
+     * @return the projected point stored in dest
+     */
+    @Contract(value = "_,_->param2", mutates = "param2")
+    default Vector3d projectOutOfSubLevel(final Vector3dc pos, final Vector3d dest) {
+        return this.companion().projectOutOfSubLevel(this.level(), pos, dest);
+    }
+
+    /**
+     * Projects a point out of a sublevel, if it is within one
+     *
+     * @param pos the point to project
+     * @return the projected point
+     */
+    @Contract(value = "_->param1", mutates = "param1")
+    default Vector3d projectOutOfSubLevel(final Vector3d pos) {
+        return this.projectOutOfSubLevel(pos, pos);
+    }
+
+    /**
+     * Projects a point out of a sublevel, if it is within one
+     *
+     * @param pos the point to project
+     * @return the projected point
+     */
+    @Contract(pure = true)
+    default Vec3 projectOutOfSubLevel(final Position pos) {
+        return this.companion().projectOutOfSubLevel(this.level(), pos);
+    }
+
+    /**
+     * Projects many points out of their sublevels in place, if they are within one
+     *
+     * @param positions the positions of the points, interleaved as {@code x, y, z}
+     * @param count     the amount of points
+     * @return positions
+     * @see SableCompanion#projectOutOfSubLevel(Level, double[], int)
+     */
+    @Contract(value = "_,_->param1", mutates = "param1")
+    default double[] projectOutOfSubLevel(final double[] positions, final int count) {
+        return this.companion().projectOutOfSubLevel(this.level(), positions, count);
+    }
+
+    /**
+     * Projects a bounding box out of a sublevel, if its center is within one
+     *
+     * @param bounds the bounding box to project
+     * @param dest   will hold the result, which may be the bounds
+     * @return dest
+     * @see SableCompanion#projectOutOfSubLevel(Level, BoundingBox3dc, BoundingBox3d)
+     */
+    @Contract(value = "_,_->param2", mutates = "param2")
+    default BoundingBox3d projectOutOfSubLevel(final BoundingBox3dc bounds, final BoundingBox3d dest) {
+        return this.companion().projectOutOfSubLevel(this.level(), bounds, dest);
+    }
+
+    /**
+     * Checks positions in this level, including sublevels, for a valid position matching the converter to a non-null value.
+     *
+     * @see SableCompanion#runIncludingSubLevels(Level, Position, boolean, SubLevelAccess, BiFunction)
+     */
+    default @Nullable <T, S extends SubLevelAccess> T runIncludingSubLevels(final Position origin, final boolean shouldCheckOrigin, @Nullable final S subLevel, final BiFunction<@Nullable S, BlockPos, T> converter) {
+        return this.companion().runIncludingSubLevels(this.level(), origin, shouldCheckOrigin, subLevel, converter);
+    }
+
+    /**
+     * Checks positions in this level, including sublevels, for a valid position matching the converter to true.
+     *
+     * @see SableCompanion#findIncludingSubLevels(Level, Position, boolean, SubLevelAccess, BiFunction)
+     */
+    default <S extends SubLevelAccess> boolean findIncludingSubLevels(final Position origin, final boolean shouldCheckOrigin, @Nullable final S subLevel, final BiFunction<@Nullable S, BlockPos, Boolean> converter) {
+        return this.companion().findIncludingSubLevels(this.level(), origin, shouldCheckOrigin, subLevel, converter);
+    }
+
+    /**
+     * Gets the distance squared between two points, taking sub-levels into account
+     *
+     * @return the distance squared between the points after projecting them out of sub-levels
+     * @see SableCompanion#distanceSquaredWithSubLevels(Level, double, double, double, double, double, double)
+     */
+    @Contract(pure = true)
+    default double distanceSquaredWithSubLevels(final double aX, final double aY, final double aZ, final double bX, final double bY, final double bZ) {
+        return this.companion().distanceSquaredWithSubLevels(this.level(), aX, aY, aZ, bX, bY, bZ);
+    }
+
+    /**
+     * Gets the distance squared between two points, taking sub-levels into account
+     *
+     * @param a the first point
+     * @param b the second point
+     * @return the distance squared between the points after projecting them out of sub-levels
+     */
+    @Contract(pure = true)
+    default double distanceSquaredWithSubLevels(final Vector3dc a, final Vector3dc b) {
+        return this.distanceSquaredWithSubLevels(a.x(), a.y(), a.z(), b.x(), b.y(), b.z());
+    }
+
+    /**
+     * Gets the distance squared between two points, taking sub-levels into account
+     *
+     * @param a the first point
+     * @param b the second point
+     * @return the distance squared between the points after projecting them out of sub-levels
+     */
+    @Contract(pure = true)
+    default double distanceSquaredWithSubLevels(final Position a, final Position b) {
+        return this.distanceSquaredWithSubLevels(a.x(), a.y(), a.z(), b.x(), b.y(), b.z());
+    }
+
+    /**
+     * Gets the distance squared between every point of two arrays, taking sub-levels into account
+     *
+     * @param a      the first points, interleaved as {@code x, y, z}
+     * @param aCount the amount of first points
+     * @param b      the second points, interleaved as {@code x, y, z}
+     * @param bCount the amount of second points
+     * @param dest   the array to hold the distances squared, row-major by the first points
+     * @return dest
+     * @see SableCompanion#distancesSquaredWithSubLevels(Level, double[], int, double[], int, double[])
+     */
+    @Contract(value = "_,_,_,_,_->param5", mutates = "param5")
+    default double[] distancesSquaredWithSubLevels(final double[] a, final int aCount, final double[] b, final int bCount, final double[] dest) {
+        return this.companion().distancesSquaredWithSubLevels(this.level(), a, aCount, b, bCount, dest);
+    }
+
+    /**
+     * Gets the distance squared between every point of two arrays, taking sub-levels into account, projecting the
+     * points into caller-owned arrays
+     *
+     * @param a       the first points, interleaved as {@code x, y, z}
+     * @param aCount  the amount of first points
+     * @param b       the second points, interleaved as {@code x, y, z}
+     * @param bCount  the amount of second points
+     * @param aGlobal the array to hold the projected first points, which may be {@code a}
+     * @param bGlobal the array to hold the projected second points, which may be {@code b}
+     * @param dest    the array to hold the distances squared, row-major by the first points
+     * @return dest
+     * @see SableCompanion#distancesSquaredWithSubLevels(Level, double[], int, double[], int, double[], double[], double[])
+     */
+    @Contract(value = "_,_,_,_,_,_,_->param7", mutates = "param5,param6,param7")
+    default double[] distancesSquaredWithSubLevels(final double[] a, final int aCount, final double[] b, final int bCount, final double[] aGlobal, final double[] bGlobal, final double[] dest) {
+        return this.companion().distancesSquaredWithSubLevels(this.level(), a, aCount, b, bCount, aGlobal, bGlobal, dest);
+    }
+
+    /**
+     * Visits every pair of points of two arrays within a distance of each other, taking sub-levels into account
+     *
+     * @param a                  the first points, interleaved as {@code x, y, z}
+     * @param aCount             the amount of first points
+     * @param b                  the second points, interleaved as {@code x, y, z}
+     * @param bCount             the amount of second points
+     * @param maxDistanceSquared the max distance squared between the points of a visited pair
+     * @param visitor            the visitor, returning true to continue or false to stop
+     * @return true if all pairs in range were visited, false if the visitor stopped early
+     * @see SableCompanion#forEachPairWithin(Level, double[], int, double[], int, double, PointPairVisitor)
+     */
+    default boolean forEachPairWithin(final double[] a, final int aCount, final double[] b, final int bCount, final double maxDistanceSquared, final PointPairVisitor visitor) {
+        return this.companion().forEachPairWithin(this.level(), a, aCount, b, bCount, maxDistanceSquared, visitor);
+    }
+
+    /**
+     * Visits every pair of points of two arrays within a distance of each other, taking sub-levels into account,
+     * projecting the points into caller-owned arrays
+     *
+     * @param a                  the first points, interleaved as {@code x, y, z}
+     * @param aCount             the amount of first points
+     * @param b                  the second points, interleaved as {@code x, y, z}
+     * @param bCount             the amount of second points
+     * @param aGlobal            the array to hold the projected first points, which may be {@code a}
+     * @param bGlobal            the array to hold the projected second points, which may be {@code b}
+     * @param maxDistanceSquared the max distance squared between the points of a visited pair
+     * @param visitor            the visitor, returning true to continue or false to stop
+     * @return true if all pairs in range were visited, false if the visitor stopped early
+     * @see SableCompanion#forEachPairWithin(Level, double[], int, double[], int, double[], double[], double, PointPairVisitor)
+     */
+    @Contract(mutates = "param5,param6")
+    default boolean forEachPairWithin(final double[] a, final int aCount, final double[] b, final int bCount, final double[] aGlobal, final double[] bGlobal, final double maxDistanceSquared, final PointPairVisitor visitor) {
+        return this.companion().forEachPairWithin(this.level(), a, aCount, b, bCount, aGlobal, bGlobal, maxDistanceSquared, visitor);
+    }
+
+    /**
+     * Gets the global velocity of a point, taking sub-levels into account
+     *
+     * @param pos  the position of the point
+     * @param dest will hold the result
+     * @return the global velocity of the point stored in dest [m/s]
+     */
+    @Contract(value = "_,_->param2", mutates = "param2")
+    default Vector3d getVelocity(final Vector3dc pos, final Vector3d dest) {
+        return this.companion().getVelocity(this.level(), pos, dest);
+    }
+
+    /**
+     * Gets the global velocity of a point in a known sub-level
+     *
+     * @param subLevel the sub-level containing the point
+     * @param pos      the position of the point
+     * @param dest     will hold the result
+     * @return the global velocity of the point stored in dest [m/s]
+     */
+    @Contract(value = "_,_,_->param3", mutates = "param3")
+    default Vector3d getVelocity(final SubLevelAccess subLevel, final Vector3dc pos, final Vector3d dest) {
+        return this.companion().getVelocity(this.level(), subLevel, pos, dest);
+    }
+
+    /**
+     * Gets the global velocity of a point relative to the air, taking sub-levels into account
+     *
+     * @param pos  the position of the point
+     * @param dest will hold the result
+     * @return the velocity of the point relative to the air stored in dest [m/s]
+     */
+    @Contract(value = "_,_->param2", mutates = "param2")
+    default Vector3d getVelocityRelativeToAir(final Vector3dc pos, final Vector3d dest) {
+        return this.companion().getVelocityRelativeToAir(this.level(), pos, dest);
+    }
+
+    /**
+     * Gets the global velocities of many points, taking sub-levels into account
+     *
+     * @param positions the positions of the points, interleaved as {@code x, y, z}
+     * @param dest      the array to hold the interleaved velocities [m/s], which may be the positions array
+     * @param count     the amount of points
+     * @return dest
+     * @see SableCompanion#getVelocities(Level, double[], double[], int)
+     */
+    @Contract(value = "_,_,_->param2", mutates = "param2")
+    default double[] getVelocities(final double[] positions, final double[] dest, final int count) {
+        return this.companion().getVelocities(this.level(), positions, dest, count);
+    }
+
+    /**
+     * Gets the global velocities of many points relative to the air, taking sub-levels into account
+     *
+     * @param positions the positions of the points, interleaved as {@code x, y, z}
+     * @param dest      the array to hold the interleaved velocities [m/s], which may be the positions array
+     * @param count     the amount of points
+     * @return dest
+     * @see SableCompanion#getVelocitiesRelativeToAir(Level, double[], double[], int)
+     */
+    @Contract(value = "_,_,_->param2", mutates = "param2")
+    default double[] getVelocitiesRelativeToAir(final double[] positions, final double[] dest, final int count) {
+        return this.companion().getVelocitiesRelativeToAir(this.level(), positions, dest, count);
+    }
+
+    /**
+     * @return the air velocity field of this level for this tick, or null if the air is at rest everywhere
+     * @see SableCompanion#getAirVelocityField(Level)
+     */
+    @Contract(pure = true)
+    default @Nullable AirVelocityField getAirVelocityField() {
+        return this.companion().getAirVelocityField(this.level());
+    }
+
+    /**
+     * @return a snapshot of the plot grid of this level, or null if it has none
+     * @see SableCompanion#getPlotGrid(Level)
+     */
+    @Contract(pure = true)
+    default @Nullable PlotGrid getPlotGrid() {
+        return this.companion().getPlotGrid(this.level());
+    }
+
+    /**
+     * Checks if the plot grid contains the given chunk.
+     *
+     * @param chunkX the global chunk X position
+     * @param chunkZ the global chunk Z position
+     * @return If the chunk is inside the plot-grid
+     */
+    @Contract(pure = true)
+    default boolean isInPlotGrid(final int chunkX, final int chunkZ) {
+        return this.companion().isInPlotGrid(this.level(), chunkX, chunkZ);
+    }
+
+    /**
+     * Checks if the plot grid contains the given chunk.
+     *
+     * @param chunkPos the global chunk position
+     * @return If the chunk is inside the plot-grid
+     */
+    @Contract(pure = true)
+    default boolean isInPlotGrid(final ChunkPos chunkPos) {
+        return this.isInPlotGrid(chunkPos.x, chunkPos.z);
+    }
+
+    /**
+     * Checks if the plot grid contains the given block.
+     *
+     * @param pos the global position to check
+     * @return If the block is inside the plot-grid
+     */
+    @Contract(pure = true)
+    default boolean isInPlotGrid(final Vec3i pos) {
+        return this.isInPlotGrid(pos.getX() >> SectionPos.SECTION_BITS, pos.getZ() >> SectionPos.SECTION_BITS);
+    }
+
+    /**
+     * Checks if the plot grid contains the given point.
+     *
+     * @param pos the global position to check
+     * @return If the point is inside the plot-grid
+     */
+    @Contract(pure = true)
+    default boolean isInPlotGrid(final Position pos) {
+        return this.isInPlotGrid(Mth.floor(pos.x()) >> SectionPos.SECTION_BITS, Mth.floor(pos.z()) >> SectionPos.SECTION_BITS);
+    }
+
+    /**
+     * Checks if the plot grid contains the given point.
+     *
+     * @param pos the global position to check
+     * @return If the point is inside the plot-grid
+     */
+    @Contract(pure = true)
+    default boolean isInPlotGrid(final Vector3dc pos) {
+        return this.isInPlotGrid(Mth.floor(pos.x()) >> SectionPos.SECTION_BITS, Mth.floor(pos.z()) >> SectionPos.SECTION_BITS);
+    }
+}
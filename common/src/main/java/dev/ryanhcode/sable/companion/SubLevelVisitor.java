@@ -0,0 +1,18 @@
+package dev.ryanhcode.sable.companion;
+
+/**
+ * A callback for visiting sub-levels, which can stop the visit early.
+ *
+ * @since 1.5.0
+ */
+@FunctionalInterface
+public interface SubLevelVisitor {
+
+    /**
+     * Visits a sub-level.
+     *
+     * @param subLevel the sub-level
+     * @return true to continue visiting, false to stop
+     */
+    boolean visit(final SubLevelAccess subLevel);
+}
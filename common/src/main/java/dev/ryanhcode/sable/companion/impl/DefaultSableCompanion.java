@@ -2,7 +2,9 @@ package dev.ryanhcode.sable.companion.impl;
 
 import dev.ryanhcode.sable.companion.SableCompanion;
 import dev.ryanhcode.sable.companion.SubLevelAccess;
+import dev.ryanhcode.sable.companion.SubLevelVisitor;
 import dev.ryanhcode.sable.companion.math.BoundingBox3dc;
+import it.unimi.dsi.fastutil.longs.LongList;
 import net.minecraft.client.Minecraft;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Position;
@@ -13,7 +15,10 @@ import org.jetbrains.annotations.Nullable;
 import org.joml.Vector3d;
 import org.joml.Vector3dc;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.function.BiFunction;
 
 /**
@@ -23,16 +28,64 @@ import java.util.function.BiFunction;
 @SableCompanion.LoadPriority(500)
 public final class DefaultSableCompanion implements SableCompanion {
 
+    @Override
+    public Features features() {
+        return Features.NONE;
+    }
+
     @Override
     public Iterable<SubLevelAccess> getAllIntersecting(final Level level, final BoundingBox3dc bounds) {
         return List.of();
     }
 
+    @Override
+    public <T extends List<? super SubLevelAccess>> T getAllIntersecting(final Level level, final BoundingBox3dc bounds, final T dest) {
+        dest.clear();
+        return dest;
+    }
+
+    @Override
+    public boolean forEachIntersecting(final Level level, final BoundingBox3dc bounds, final SubLevelVisitor visitor) {
+        return true;
+    }
+
+    @Override
+    public boolean anyIntersecting(final Level level, final BoundingBox3dc bounds) {
+        return false;
+    }
+
+    @Override
+    public int countIntersecting(final Level level, final BoundingBox3dc bounds) {
+        return 0;
+    }
+
     @Override
     public @Nullable SubLevelAccess getContaining(final Level level, final int chunkX, final int chunkZ) {
         return null;
     }
 
+    @Override
+    public SubLevelAccess[] getContainingChunks(final Level level, final long[] packedChunkPositions, final int offset, final int count, final SubLevelAccess[] dest) {
+        Arrays.fill(dest, offset, offset + count, null);
+        return dest;
+    }
+
+    @Override
+    public SubLevelAccess[] getContainingBlocks(final Level level, final long[] packedBlockPositions, final int offset, final int count, final SubLevelAccess[] dest) {
+        Arrays.fill(dest, offset, offset + count, null);
+        return dest;
+    }
+
+    @Override
+    public void partitionChunksByContaining(final Level level, final LongList packedChunkPositions, final LongList worldDest, final Map<SubLevelAccess, LongList> subLevelDest) {
+        worldDest.addAll(packedChunkPositions);
+    }
+
+    @Override
+    public void partitionBlocksByContaining(final Level level, final LongList packedBlockPositions, final LongList worldDest, final Map<SubLevelAccess, LongList> subLevelDest) {
+        worldDest.addAll(packedBlockPositions);
+    }
+
     @Override
     public Vector3d projectOutOfSubLevel(final Level level, final Vector3dc pos, final Vector3d dest) {
         return dest.set(pos);
@@ -48,6 +101,12 @@ public final class DefaultSableCompanion implements SableCompanion {
         return pos instanceof final Vec3 vec3 ? vec3 : new Vec3(pos.x(), pos.y(), pos.z());
     }
 
+    @Override
+    public double[] projectOutOfSubLevel(final Level level, final double[] positions, final int count) {
+        Objects.checkFromIndexSize(0, count * 3, positions.length);
+        return positions;
+    }
+
     @Override
     public @Nullable <T, S extends SubLevelAccess> T runIncludingSubLevels(final Level level, final Vec3 origin, final boolean shouldCheckOrigin, @Nullable final S subLevel, final BiFunction<S, BlockPos, T> converter) {
         return shouldCheckOrigin ? converter.apply(subLevel, BlockPos.containing(origin)) : null;
@@ -132,6 +191,12 @@ public final class DefaultSableCompanion implements SableCompanion {
         return Vec3.ZERO;
     }
 
+    @Override
+    public double[] getVelocities(final Level level, final double[] positions, final double[] dest, final int count) {
+        Arrays.fill(dest, 0, count * 3, 0.0);
+        return dest;
+    }
+
     @Override
     public Vector3d getVelocityRelativeToAir(final Level level, final Vector3dc pos, final Vector3d dest) {
         return dest.zero();
@@ -142,6 +207,12 @@ public final class DefaultSableCompanion implements SableCompanion {
         return Vec3.ZERO;
     }
 
+    @Override
+    public double[] getVelocitiesRelativeToAir(final Level level, final double[] positions, final double[] dest, final int count) {
+        Arrays.fill(dest, 0, count * 3, 0.0);
+        return dest;
+    }
+
     @Override
     public Vec3 getVelocityRelativeToAir(final Level level, final Position pos) {
         return Vec3.ZERO;
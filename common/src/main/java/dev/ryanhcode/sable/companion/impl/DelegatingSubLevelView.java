@@ -0,0 +1,47 @@
+package dev.ryanhcode.sable.companion.impl;
+
+import dev.ryanhcode.sable.companion.ClientSubLevelView;
+import dev.ryanhcode.sable.companion.SableCompanion;
+import dev.ryanhcode.sable.companion.SubLevelView;
+import net.minecraft.world.level.Level;
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * Default {@link SubLevelView} forwarding every query to the companion with the bound level.
+ */
+@ApiStatus.Internal
+public class DelegatingSubLevelView implements SubLevelView {
+
+    private final SableCompanion companion;
+    private final Level level;
+
+    public DelegatingSubLevelView(final SableCompanion companion, final Level level) {
+        this.companion = companion;
+        this.level = level;
+    }
+
+    @Override
+    public SableCompanion companion() {
+        return this.companion;
+    }
+
+    @Override
+    public Level level() {
+        return this.level;
+    }
+
+    @Override
+    public String toString() {
+        return this.getClass().getSimpleName() + "{level=" + this.level + "}";
+    }
+
+    /**
+     * Default {@link ClientSubLevelView} forwarding every query to the companion with the client level.
+     */
+    public static final class Client extends DelegatingSubLevelView implements ClientSubLevelView {
+
+        public Client(final SableCompanion companion, final Level level) {
+            super(companion, level);
+        }
+    }
+}
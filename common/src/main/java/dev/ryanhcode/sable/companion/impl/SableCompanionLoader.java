@@ -0,0 +1,75 @@
+package dev.ryanhcode.sable.companion.impl;
+
+import com.mojang.logging.LogUtils;
+import dev.ryanhcode.sable.companion.SableCompanion;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import java.util.Comparator;
+import java.util.ServiceLoader;
+
+/**
+ * Resolves {@link SableCompanion#INSTANCE}.
+ * <br>
+ * If the {@value #PROVIDER_PROPERTY} system property names a companion class, it is instantiated directly, skipping
+ * the service loader scan and the reflective {@link SableCompanion.LoadPriority} lookups. Otherwise, or if the class
+ * cannot be loaded, the highest priority companion found by the service loader is used.
+ */
+@ApiStatus.Internal
+public final class SableCompanionLoader {
+
+    /**
+     * The system property naming the companion class to load, skipping the service loader scan
+     */
+    public static final String PROVIDER_PROPERTY = "sable.companion.provider";
+
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    private SableCompanionLoader() {
+    }
+
+    public static SableCompanion load() {
+        final long start = System.nanoTime();
+        final String declared = System.getProperty(PROVIDER_PROPERTY);
+
+        SableCompanion companion = declared != null && !declared.isBlank() ? loadDeclared(declared.strip()) : null;
+        String source = PROVIDER_PROPERTY;
+
+        if (companion == null) {
+            companion = ServiceLoader.load(SableCompanion.class)
+                    .stream().max(Comparator.comparingInt(provider -> {
+                        final Class<? extends SableCompanion> type = provider.type();
+                        final SableCompanion.LoadPriority annotation = type.getAnnotation(SableCompanion.LoadPriority.class);
+                        return annotation != null ? annotation.value() : 1000;
+                    }))
+                    .map(ServiceLoader.Provider::get)
+                    .orElseThrow(() -> new RuntimeException("Failed to find sable assembly platform"));
+            source = "service loader";
+        }
+
+        LOGGER.info("Resolved Sable companion {} from {} in {} ms", companion.getClass().getName(), source,
+                String.format("%.2f", (System.nanoTime() - start) / 1_000_000.0));
+        return companion;
+    }
+
+    private static @Nullable SableCompanion loadDeclared(final String className) {
+        try {
+            ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+            if (classLoader == null) {
+                classLoader = SableCompanion.class.getClassLoader();
+            }
+
+            final Class<?> type = Class.forName(className, true, classLoader);
+            if (!SableCompanion.class.isAssignableFrom(type)) {
+                LOGGER.warn("Declared Sable companion {} does not implement {}, falling back to the service loader", className, SableCompanion.class.getName());
+                return null;
+            }
+
+            return (SableCompanion) type.getDeclaredConstructor().newInstance();
+        } catch (final ReflectiveOperationException | LinkageError e) {
+            LOGGER.warn("Failed to load declared Sable companion {}, falling back to the service loader", className, e);
+            return null;
+        }
+    }
+}
@@ -2,11 +2,30 @@ package dev.ryanhcode.sable.companion.impl;
 
 import com.mojang.serialization.Codec;
 import com.mojang.serialization.DataResult;
+import dev.ryanhcode.sable.companion.AirVelocityField;
+import dev.ryanhcode.sable.companion.PointPairVisitor;
+import dev.ryanhcode.sable.companion.SubLevelAccess;
+import dev.ryanhcode.sable.companion.SubLevelVisitor;
+import dev.ryanhcode.sable.companion.math.Pose3dc;
+import io.netty.buffer.ByteBuf;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.util.Mth;
+import net.minecraft.world.level.ChunkPos;
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
 import org.joml.Quaterniond;
+import org.joml.Quaterniondc;
 import org.joml.Vector3d;
+import org.joml.Vector3dc;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.function.Supplier;
 
 @ApiStatus.Internal
@@ -22,6 +41,369 @@ public final class SableCompanionUtil {
                             list -> new Quaterniond(list.getFirst(), list.get(1), list.get(2), list.get(3))),
                     quat -> List.of(quat.x, quat.y, quat.z, quat.w));
 
+    public static final StreamCodec<ByteBuf, Vector3d> VECTOR_3D_STREAM_CODEC = StreamCodec.of(
+            (buf, vec) -> buf.writeDouble(vec.x).writeDouble(vec.y).writeDouble(vec.z),
+            buf -> new Vector3d(buf.readDouble(), buf.readDouble(), buf.readDouble()));
+
+    public static final StreamCodec<ByteBuf, Quaterniond> QUATERNIOND_STREAM_CODEC = StreamCodec.of(
+            (buf, quat) -> buf.writeDouble(quat.x).writeDouble(quat.y).writeDouble(quat.z).writeDouble(quat.w),
+            buf -> new Quaterniond(buf.readDouble(), buf.readDouble(), buf.readDouble(), buf.readDouble()));
+
+    /**
+     * The amount of logical ticks per second, used to convert pose deltas into velocities
+     */
+    public static final double TICKS_PER_SECOND = 20.0;
+
+    /**
+     * Computes the velocity of the rotation point of a sub-level from the difference between its last and logical pose.
+     */
+    public static Vector3d linearVelocity(final Pose3dc lastPose, final Pose3dc logicalPose, final Vector3d dest) {
+        final Vector3dc position = logicalPose.position();
+        lastPose.transformPosition(logicalPose.rotationPoint(), dest);
+        return dest.set(position.x() - dest.x, position.y() - dest.y, position.z() - dest.z).mul(TICKS_PER_SECOND);
+    }
+
+    /**
+     * Computes the global angular velocity of a sub-level from the rotation between its last and logical orientation.
+     */
+    public static Vector3d angularVelocity(final Pose3dc lastPose, final Pose3dc logicalPose, final Vector3d dest) {
+        final Quaterniondc a = logicalPose.orientation();
+        final Quaterniondc b = lastPose.orientation();
+
+        // a * conjugate(b), the rotation from the last to the logical orientation in global space
+        double x = -a.w() * b.x() + a.x() * b.w() - a.y() * b.z() + a.z() * b.y();
+        double y = -a.w() * b.y() + a.x() * b.z() + a.y() * b.w() - a.z() * b.x();
+        double z = -a.w() * b.z() - a.x() * b.y() + a.y() * b.x() + a.z() * b.w();
+        double w = a.w() * b.w() + a.x() * b.x() + a.y() * b.y() + a.z() * b.z();
+
+        // Take the shortest arc
+        if (w < 0.0) {
+            x = -x;
+            y = -y;
+            z = -z;
+            w = -w;
+        }
+
+        final double sinHalfAngle = Math.sqrt(x * x + y * y + z * z);
+        final double factor = sinHalfAngle < 1.0E-9 ? 2.0 : 2.0 * Math.atan2(sinHalfAngle, w) / sinHalfAngle;
+        return dest.set(x, y, z).mul(factor * TICKS_PER_SECOND);
+    }
+
+    /**
+     * Looks up the containing sub-level of packed chunk or block positions, re-using the result for runs of positions
+     * in the same chunk.
+     */
+    public static SubLevelAccess[] getContaining(final ContainingLookup lookup, final long[] packedPositions, final int offset, final int count, final SubLevelAccess[] dest, final boolean blocks) {
+        Objects.checkFromIndexSize(offset, count, packedPositions.length);
+        Objects.checkFromIndexSize(offset, count, dest.length);
+
+        long lastChunk = 0L;
+        SubLevelAccess lastSubLevel = null;
+        boolean hasLast = false;
+
+        for (int i = offset; i < offset + count; i++) {
+            final long packed = packedPositions[i];
+            final int chunkX = blocks ? SectionPos.blockToSectionCoord(BlockPos.getX(packed)) : ChunkPos.getX(packed);
+            final int chunkZ = blocks ? SectionPos.blockToSectionCoord(BlockPos.getZ(packed)) : ChunkPos.getZ(packed);
+            final long chunk = ChunkPos.asLong(chunkX, chunkZ);
+
+            if (!hasLast || chunk != lastChunk) {
+                lastSubLevel = lookup.getContaining(chunkX, chunkZ);
+                lastChunk = chunk;
+                hasLast = true;
+            }
+
+            dest[i] = lastSubLevel;
+        }
+
+        return dest;
+    }
+
+    /**
+     * Partitions packed chunk or block positions by their containing sub-level, re-using the lookup for runs of
+     * positions in the same chunk.
+     */
+    public static void partitionByContaining(final ContainingLookup lookup, final LongList packedPositions, final LongList worldDest, final Map<SubLevelAccess, LongList> subLevelDest, final boolean blocks) {
+        long lastChunk = 0L;
+        LongList lastDest = null;
+
+        final int size = packedPositions.size();
+        for (int i = 0; i < size; i++) {
+            final long packed = packedPositions.getLong(i);
+            final int chunkX = blocks ? SectionPos.blockToSectionCoord(BlockPos.getX(packed)) : ChunkPos.getX(packed);
+            final int chunkZ = blocks ? SectionPos.blockToSectionCoord(BlockPos.getZ(packed)) : ChunkPos.getZ(packed);
+            final long chunk = ChunkPos.asLong(chunkX, chunkZ);
+
+            if (lastDest == null || chunk != lastChunk) {
+                final SubLevelAccess subLevel = lookup.getContaining(chunkX, chunkZ);
+                lastDest = subLevel == null ? worldDest : subLevelDest.computeIfAbsent(subLevel, s -> new LongArrayList());
+                lastChunk = chunk;
+            }
+
+            lastDest.add(packed);
+        }
+    }
+
+    /**
+     * Computes the velocities of interleaved points, re-using the containing sub-level for runs of points in the same
+     * chunk. Points outside of any sub-level have no velocity.
+     * If an air velocity field is given, the air velocity at the global position of each point is subtracted, with
+     * points in sub-levels projected to their global position by the projection, which must then be given.
+     */
+    public static double[] getVelocities(final ContainingLookup lookup, final PointVelocity velocity, @Nullable final PointProjection projection, @Nullable final AirVelocityField air, final double[] positions, final double[] dest, final int count) {
+        Objects.checkFromIndexSize(0, count * 3, positions.length);
+        Objects.checkFromIndexSize(0, count * 3, dest.length);
+
+        final Vector3d pos = new Vector3d();
+        final Vector3d result = new Vector3d();
+        final Vector3d airVelocity = new Vector3d();
+
+        long lastChunk = 0L;
+        SubLevelAccess lastSubLevel = null;
+        boolean hasLast = false;
+
+        for (int i = 0; i < count * 3; i += 3) {
+            final double x = positions[i];
+            final double y = positions[i + 1];
+            final double z = positions[i + 2];
+            final int chunkX = Mth.floor(x) >> SectionPos.SECTION_BITS;
+            final int chunkZ = Mth.floor(z) >> SectionPos.SECTION_BITS;
+            final long chunk = ChunkPos.asLong(chunkX, chunkZ);
+
+            if (!hasLast || chunk != lastChunk) {
+                lastSubLevel = lookup.getContaining(chunkX, chunkZ);
+                lastChunk = chunk;
+                hasLast = true;
+            }
+
+            pos.set(x, y, z);
+            if (lastSubLevel == null) {
+                result.zero();
+            } else {
+                velocity.getVelocity(lastSubLevel, pos, result);
+            }
+
+            if (air != null) {
+                if (lastSubLevel != null) {
+                    projection.projectOutOfSubLevel(pos, pos);
+                }
+                result.sub(air.sample(pos.x, pos.y, pos.z, airVelocity));
+            }
+
+            dest[i] = result.x;
+            dest[i + 1] = result.y;
+            dest[i + 2] = result.z;
+        }
+
+        return dest;
+    }
+
+    /**
+     * Copies the first {@code count} interleaved points of an array into another, which may be the same array.
+     */
+    public static double[] copyPositions(final double[] positions, final int count, final double[] dest) {
+        Objects.checkFromIndexSize(0, count * 3, positions.length);
+        Objects.checkFromIndexSize(0, count * 3, dest.length);
+        if (dest != positions) {
+            System.arraycopy(positions, 0, dest, 0, count * 3);
+        }
+        return dest;
+    }
+
+    /**
+     * Projects interleaved points out of their sub-levels in place, transforming runs of consecutive points in the same
+     * sub-level together and re-using the containing sub-level for runs of points in the same chunk.
+     */
+    public static double[] projectOutOfSubLevels(final ContainingLookup lookup, final double[] positions, final int count) {
+        Objects.checkFromIndexSize(0, count * 3, positions.length);
+
+        final Vector3d pos = new Vector3d();
+
+        long lastChunk = 0L;
+        SubLevelAccess lastSubLevel = null;
+        boolean hasLast = false;
+
+        SubLevelAccess runSubLevel = null;
+        int runStart = 0;
+
+        for (int i = 0; i < count; i++) {
+            final int chunkX = Mth.floor(positions[i * 3]) >> SectionPos.SECTION_BITS;
+            final int chunkZ = Mth.floor(positions[i * 3 + 2]) >> SectionPos.SECTION_BITS;
+            final long chunk = ChunkPos.asLong(chunkX, chunkZ);
+
+            if (!hasLast || chunk != lastChunk) {
+                lastSubLevel = lookup.getContaining(chunkX, chunkZ);
+                lastChunk = chunk;
+                hasLast = true;
+            }
+
+            if (lastSubLevel != runSubLevel) {
+                projectRun(runSubLevel, positions, runStart, i - runStart, pos);
+                runSubLevel = lastSubLevel;
+                runStart = i;
+            }
+        }
+
+        projectRun(runSubLevel, positions, runStart, count - runStart, pos);
+        return positions;
+    }
+
+    private static void projectRun(@Nullable final SubLevelAccess subLevel, final double[] positions, final int start, final int length, final Vector3d pos) {
+        if (subLevel == null || length == 0) {
+            return;
+        }
+
+        final Pose3dc pose = subLevel.logicalPose();
+        if (length > 1) {
+            pose.transformPositions(positions, start * 3, length);
+            return;
+        }
+
+        // Baking a matrix costs more than transforming a lone point directly
+        final int i = start * 3;
+        pose.transformPosition(pos.set(positions[i], positions[i + 1], positions[i + 2]));
+        positions[i] = pos.x;
+        positions[i + 1] = pos.y;
+        positions[i + 2] = pos.z;
+    }
+
+    /**
+     * Computes the distance squared between every pair of global interleaved points, row-major by the first points.
+     */
+    public static double[] distancesSquared(final double[] a, final int aCount, final double[] b, final int bCount, final double[] dest) {
+        Objects.checkFromIndexSize(0, aCount * 3, a.length);
+        Objects.checkFromIndexSize(0, bCount * 3, b.length);
+        Objects.checkFromIndexSize(0, aCount * bCount, dest.length);
+
+        int index = 0;
+        for (int i = 0; i < aCount * 3; i += 3) {
+            final double x = a[i];
+            final double y = a[i + 1];
+            final double z = a[i + 2];
+            for (int j = 0; j < bCount * 3; j += 3) {
+                final double dx = b[j] - x;
+                final double dy = b[j + 1] - y;
+                final double dz = b[j + 2] - z;
+                dest[index++] = dx * dx + dy * dy + dz * dz;
+            }
+        }
+        return dest;
+    }
+
+    /**
+     * Visits every pair of global interleaved points within a distance of each other, until the visitor returns false.
+     */
+    public static boolean forEachPairWithin(final double[] a, final int aCount, final double[] b, final int bCount, final double maxDistanceSquared, final PointPairVisitor visitor) {
+        Objects.checkFromIndexSize(0, aCount * 3, a.length);
+        Objects.checkFromIndexSize(0, bCount * 3, b.length);
+
+        for (int i = 0; i < aCount; i++) {
+            final double x = a[i * 3];
+            final double y = a[i * 3 + 1];
+            final double z = a[i * 3 + 2];
+            for (int j = 0; j < bCount; j++) {
+                final double dx = b[j * 3] - x;
+                final double dy = b[j * 3 + 1] - y;
+                final double dz = b[j * 3 + 2] - z;
+                final double distanceSquared = dx * dx + dy * dy + dz * dz;
+                if (distanceSquared <= maxDistanceSquared && !visitor.visit(i, j, distanceSquared)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Keeps the {@code k} visited sub-levels with a bounding box nearest to a point at the end of a list, nearest first.
+     * <br>
+     * Each sub-level within the max distance is inserted into the sorted run of at most {@code k} sub-levels, dropping
+     * the farthest one once the run is full, so the visited sub-levels are never boxed or fully sorted.
+     */
+    public static final class NearestCollector implements SubLevelVisitor {
+
+        private final double x, y, z;
+        private final int k;
+        private final double maxDistanceSquared;
+        private final List<? super SubLevelAccess> dest;
+        private final int start;
+
+        /**
+         * The squared distances of the collected sub-levels, in the same order
+         */
+        private double[] distances;
+        private int size;
+
+        public NearestCollector(final double x, final double y, final double z, final int k, final double maxDistance, final List<? super SubLevelAccess> dest) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.k = k;
+            this.maxDistanceSquared = maxDistance * maxDistance;
+            this.dest = dest;
+            this.start = dest.size();
+            this.distances = new double[Math.max(0, Math.min(k, 16))];
+        }
+
+        @Override
+        public boolean visit(final SubLevelAccess subLevel) {
+            if (this.k <= 0) {
+                return false;
+            }
+
+            final double distanceSquared = subLevel.boundingBox().distanceSquared(this.x, this.y, this.z);
+            if (distanceSquared > this.maxDistanceSquared) {
+                return true;
+            }
+
+            int size = this.size;
+            if (size == this.k) {
+                if (distanceSquared >= this.distances[size - 1]) {
+                    return true;
+                }
+                this.dest.remove(this.start + --size);
+            } else if (size == this.distances.length) {
+                this.distances = Arrays.copyOf(this.distances, (int) Math.min(this.k, size * 2L));
+            }
+
+            final double[] distances = this.distances;
+            int i = size;
+            while (i > 0 && distances[i - 1] > distanceSquared) {
+                distances[i] = distances[i - 1];
+                i--;
+            }
+
+            distances[i] = distanceSquared;
+            this.dest.add(this.start + i, subLevel);
+            this.size = size + 1;
+            return true;
+        }
+    }
+
+    /**
+     * Looks up the sub-level owning the plot of a chunk, bound to a level.
+     */
+    @FunctionalInterface
+    public interface ContainingLookup {
+        @Nullable SubLevelAccess getContaining(int chunkX, int chunkZ);
+    }
+
+    /**
+     * Computes the velocity of a point in a known sub-level, bound to a level.
+     */
+    @FunctionalInterface
+    public interface PointVelocity {
+        Vector3d getVelocity(SubLevelAccess subLevel, Vector3dc pos, Vector3d dest);
+    }
+
+    /**
+     * Projects a point out of its sub-level, bound to a level.
+     */
+    @FunctionalInterface
+    public interface PointProjection {
+        Vector3d projectOutOfSubLevel(Vector3dc pos, Vector3d dest);
+    }
+
     public static <T> DataResult<List<T>> fixedSize(final List<T> list, final int size) {
         if (list.size() != size) {
             final Supplier<String> supplier = () -> "Input is not a list of " + size + " elements";
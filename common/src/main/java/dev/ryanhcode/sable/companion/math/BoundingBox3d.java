@@ -2,8 +2,10 @@ package dev.ryanhcode.sable.companion.math;
 
 import com.mojang.serialization.Codec;
 import dev.ryanhcode.sable.companion.impl.SableCompanionUtil;
+import io.netty.buffer.ByteBuf;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Position;
+import net.minecraft.network.codec.StreamCodec;
 import net.minecraft.world.level.levelgen.structure.BoundingBox;
 import net.minecraft.world.phys.AABB;
 import net.minecraft.world.phys.Vec3;
@@ -39,6 +41,15 @@ public final class BoundingBox3d implements BoundingBox3dc {
                     bb.maxY,
                     bb.maxZ));
 
+    /**
+     * Writes the raw bounds as doubles, for network sync without the boxing of {@link #CODEC}.
+     *
+     * @since 1.5.0
+     */
+    public static final StreamCodec<ByteBuf, BoundingBox3d> STREAM_CODEC = StreamCodec.of(
+            (buf, bb) -> buf.writeDouble(bb.minX).writeDouble(bb.minY).writeDouble(bb.minZ).writeDouble(bb.maxX).writeDouble(bb.maxY).writeDouble(bb.maxZ),
+            buf -> new BoundingBox3d(buf.readDouble(), buf.readDouble(), buf.readDouble(), buf.readDouble(), buf.readDouble(), buf.readDouble()));
+
     public double minX;
     public double minY;
     public double minZ;
@@ -51,6 +51,18 @@ public sealed interface BoundingBox3dc permits BoundingBox3d {
         return x >= this.minX() && x <= this.maxX() && y >= this.minY() && y <= this.maxY() && z >= this.minZ() && z <= this.maxZ();
     }
 
+    /**
+     * @return the squared distance from the given point to the closest point of this box, 0 if the point is inside
+     * @since 1.5.0
+     */
+    @Contract(pure = true)
+    default double distanceSquared(final double x, final double y, final double z) {
+        final double dx = Math.max(Math.max(this.minX() - x, x - this.maxX()), 0.0);
+        final double dy = Math.max(Math.max(this.minY() - y, y - this.maxY()), 0.0);
+        final double dz = Math.max(Math.max(this.minZ() - z, z - this.maxZ()), 0.0);
+        return dx * dx + dy * dy + dz * dz;
+    }
+
     /**
      * @return the minimum x value of this box
      */
@@ -208,7 +220,11 @@ public sealed interface BoundingBox3dc permits BoundingBox3d {
      * @return the destination bounding box
      */
     default BoundingBox3d transform(final Pose3dc pose, final BoundingBox3d dest) {
-        return this.transform(pose.bakeIntoMatrix(new Matrix4d()), dest);
+        if (pose instanceof final CompiledPose3d compiled) {
+            return this.transform(compiled.affine(), dest);
+        }
+
+        return BoxTransforms.transform(this, pose, false, dest);
     }
 
     /**
@@ -232,23 +248,7 @@ public sealed interface BoundingBox3dc permits BoundingBox3d {
      * @return the destination bounding box
      */
     default BoundingBox3d transform(final Matrix4dc mpose, final BoundingBox3d dest) {
-        final double minX = this.minX(), minY = this.minY(), minZ = this.minZ();
-        final double maxX = this.maxX(), maxY = this.maxY(), maxZ = this.maxZ();
-
-        dest.setUnchecked(Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY);
-
-        final Vector3d corner = new Vector3d();
-
-        for (int i = 0; i <= 0b111; i++) {
-            corner.set(
-                    (i & 0b001) == 0 ? minX : maxX,
-                    (i & 0b010) == 0 ? minY : maxY,
-                    (i & 0b100) == 0 ? minZ : maxZ
-            );
-            dest.expandTo(mpose.transformPosition(corner), dest);
-        }
-
-        return dest;
+        return BoxTransforms.transform(this, mpose, dest);
     }
 
     /**
@@ -260,7 +260,11 @@ public sealed interface BoundingBox3dc permits BoundingBox3d {
      * @return the destination bounding box
      */
     default BoundingBox3d transformInverse(final Pose3dc pose, final BoundingBox3d dest) {
-        return this.transformInverse(pose.bakeIntoMatrix(new Matrix4d()).invertAffine(), dest);
+        if (pose instanceof final CompiledPose3d compiled) {
+            return this.transformInverse(compiled.affineInverse(), dest);
+        }
+
+        return BoxTransforms.transform(this, pose, true, dest);
     }
 
     /**
@@ -284,23 +288,7 @@ public sealed interface BoundingBox3dc permits BoundingBox3d {
      * @return the destination bounding box
      */
     default BoundingBox3d transformInverse(final Matrix4dc mpose, final BoundingBox3d dest) {
-        final double minX = this.minX(), minY = this.minY(), minZ = this.minZ();
-        final double maxX = this.maxX(), maxY = this.maxY(), maxZ = this.maxZ();
-
-        dest.setUnchecked(Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY);
-
-        final Vector3d corner = new Vector3d();
-
-        for (int i = 0; i <= 0b111; i++) {
-            corner.set(
-                    (i & 0b001) == 0 ? minX : maxX,
-                    (i & 0b010) == 0 ? minY : maxY,
-                    (i & 0b100) == 0 ? minZ : maxZ
-            );
-            dest.expandTo(mpose.transformPosition(corner), dest);
-        }
-
-        return dest;
+        return BoxTransforms.transform(this, mpose, dest);
     }
 
     /**
@@ -2,7 +2,9 @@ package dev.ryanhcode.sable.companion.math;
 
 import com.mojang.serialization.Codec;
 import dev.ryanhcode.sable.companion.impl.SableCompanionUtil;
+import io.netty.buffer.ByteBuf;
 import net.minecraft.core.BlockPos;
+import net.minecraft.network.codec.StreamCodec;
 import net.minecraft.util.Mth;
 import net.minecraft.world.level.levelgen.structure.BoundingBox;
 import org.jetbrains.annotations.Contract;
@@ -36,6 +38,15 @@ public final class BoundingBox3i implements BoundingBox3ic {
                     bb.maxY,
                     bb.maxZ));
 
+    /**
+     * Writes the raw bounds as ints, for network sync without the boxing of {@link #CODEC}.
+     *
+     * @since 1.5.0
+     */
+    public static final StreamCodec<ByteBuf, BoundingBox3i> STREAM_CODEC = StreamCodec.of(
+            (buf, bb) -> buf.writeInt(bb.minX).writeInt(bb.minY).writeInt(bb.minZ).writeInt(bb.maxX).writeInt(bb.maxY).writeInt(bb.maxZ),
+            buf -> new BoundingBox3i(buf.readInt(), buf.readInt(), buf.readInt(), buf.readInt(), buf.readInt(), buf.readInt()));
+
     public int minX;
     public int minY;
     public int minZ;
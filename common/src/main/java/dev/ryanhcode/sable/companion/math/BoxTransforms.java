@@ -0,0 +1,92 @@
+package dev.ryanhcode.sable.companion.math;
+
+import org.joml.Matrix4dc;
+import org.joml.Quaterniondc;
+import org.joml.Vector3dc;
+
+/**
+ * Transforms boxes with the center/half-extent method: the center is transformed as a point, and the half-extents
+ * by the absolute values of the linear part of the transform. This gives the same bounds as transforming all 8
+ * corners, without allocating or transforming each corner.
+ */
+final class BoxTransforms {
+
+    private BoxTransforms() {
+    }
+
+    /**
+     * Transforms a box by an affine matrix.
+     */
+    static BoundingBox3d transform(final BoundingBox3dc box, final Matrix4dc matrix, final BoundingBox3d dest) {
+        final double cx = (box.minX() + box.maxX()) * 0.5, cy = (box.minY() + box.maxY()) * 0.5, cz = (box.minZ() + box.maxZ()) * 0.5;
+        final double ex = (box.maxX() - box.minX()) * 0.5, ey = (box.maxY() - box.minY()) * 0.5, ez = (box.maxZ() - box.minZ()) * 0.5;
+
+        final double m00 = matrix.m00(), m01 = matrix.m01(), m02 = matrix.m02();
+        final double m10 = matrix.m10(), m11 = matrix.m11(), m12 = matrix.m12();
+        final double m20 = matrix.m20(), m21 = matrix.m21(), m22 = matrix.m22();
+
+        final double x = m00 * cx + m10 * cy + m20 * cz + matrix.m30();
+        final double y = m01 * cx + m11 * cy + m21 * cz + matrix.m31();
+        final double z = m02 * cx + m12 * cy + m22 * cz + matrix.m32();
+
+        final double hx = Math.abs(m00) * ex + Math.abs(m10) * ey + Math.abs(m20) * ez;
+        final double hy = Math.abs(m01) * ex + Math.abs(m11) * ey + Math.abs(m21) * ez;
+        final double hz = Math.abs(m02) * ex + Math.abs(m12) * ey + Math.abs(m22) * ez;
+
+        return dest.setUnchecked(x - hx, y - hy, z - hz, x + hx, y + hy, z + hz);
+    }
+
+    /**
+     * Transforms a box by a pose, or by its inverse, straight from the pose components.
+     */
+    static BoundingBox3d transform(final BoundingBox3dc box, final Pose3dc pose, final boolean inverse, final BoundingBox3d dest) {
+        final double cx = (box.minX() + box.maxX()) * 0.5, cy = (box.minY() + box.maxY()) * 0.5, cz = (box.minZ() + box.maxZ()) * 0.5;
+        final double ex = (box.maxX() - box.minX()) * 0.5, ey = (box.maxY() - box.minY()) * 0.5, ez = (box.maxZ() - box.minZ()) * 0.5;
+
+        // Rotation matrix of the orientation, row-major, normalized like Quaterniondc#transform
+        final Quaterniondc q = pose.orientation();
+        final double qx = q.x(), qy = q.y(), qz = q.z(), qw = q.w();
+        final double k = 2.0 / (qx * qx + qy * qy + qz * qz + qw * qw);
+        final double xx = qx * qx * k, yy = qy * qy * k, zz = qz * qz * k;
+        final double xy = qx * qy * k, xz = qx * qz * k, yz = qy * qz * k;
+        final double xw = qx * qw * k, yw = qy * qw * k, zw = qz * qw * k;
+
+        final double r00 = 1.0 - yy - zz, r01 = xy - zw, r02 = xz + yw;
+        final double r10 = xy + zw, r11 = 1.0 - xx - zz, r12 = yz - xw;
+        final double r20 = xz - yw, r21 = yz + xw, r22 = 1.0 - xx - yy;
+
+        final Vector3dc p = pose.position();
+        final Vector3dc rp = pose.rotationPoint();
+        final Vector3dc s = pose.scale();
+
+        if (!inverse) {
+            // global = R * ((local - rp) * s) + p
+            final double lx = (cx - rp.x()) * s.x(), ly = (cy - rp.y()) * s.y(), lz = (cz - rp.z()) * s.z();
+            final double sx = Math.abs(s.x()) * ex, sy = Math.abs(s.y()) * ey, sz = Math.abs(s.z()) * ez;
+
+            final double x = r00 * lx + r01 * ly + r02 * lz + p.x();
+            final double y = r10 * lx + r11 * ly + r12 * lz + p.y();
+            final double z = r20 * lx + r21 * ly + r22 * lz + p.z();
+
+            final double hx = Math.abs(r00) * sx + Math.abs(r01) * sy + Math.abs(r02) * sz;
+            final double hy = Math.abs(r10) * sx + Math.abs(r11) * sy + Math.abs(r12) * sz;
+            final double hz = Math.abs(r20) * sx + Math.abs(r21) * sy + Math.abs(r22) * sz;
+
+            return dest.setUnchecked(x - hx, y - hy, z - hz, x + hx, y + hy, z + hz);
+        }
+
+        // local = R^T * (global - p) / s + rp
+        final double gx = cx - p.x(), gy = cy - p.y(), gz = cz - p.z();
+        final double isx = 1.0 / s.x(), isy = 1.0 / s.y(), isz = 1.0 / s.z();
+
+        final double x = (r00 * gx + r10 * gy + r20 * gz) * isx + rp.x();
+        final double y = (r01 * gx + r11 * gy + r21 * gz) * isy + rp.y();
+        final double z = (r02 * gx + r12 * gy + r22 * gz) * isz + rp.z();
+
+        final double hx = (Math.abs(r00) * ex + Math.abs(r10) * ey + Math.abs(r20) * ez) * Math.abs(isx);
+        final double hy = (Math.abs(r01) * ex + Math.abs(r11) * ey + Math.abs(r21) * ez) * Math.abs(isy);
+        final double hz = (Math.abs(r02) * ex + Math.abs(r12) * ey + Math.abs(r22) * ez) * Math.abs(isz);
+
+        return dest.setUnchecked(x - hx, y - hy, z - hz, x + hx, y + hy, z + hz);
+    }
+}
@@ -0,0 +1,24 @@
+package dev.ryanhcode.sable.companion.math;
+
+/**
+ * An optional accelerated kernel for {@link PoseBatchTransforms}, loaded by {@link VectorSupport}.
+ */
+interface PointTransformKernel {
+
+    /**
+     * @return if this kernel can do better than the scalar loop on the current hardware
+     */
+    boolean hasPointSupport();
+
+    /**
+     * Transforms as many points of the run as the kernel handles, stored as separate coordinate arrays in place.
+     * The transform is given as the entries of a column-major affine matrix, with a zero translation for normals.
+     *
+     * @return the index of the first point left for the scalar loop
+     */
+    int transform(final double m00, final double m01, final double m02,
+                  final double m10, final double m11, final double m12,
+                  final double m20, final double m21, final double m22,
+                  final double m30, final double m31, final double m32,
+                  final double[] xs, final double[] ys, final double[] zs, final int offset, final int count);
+}
@@ -3,6 +3,8 @@ package dev.ryanhcode.sable.companion.math;
 import com.mojang.serialization.Codec;
 import com.mojang.serialization.codecs.RecordCodecBuilder;
 import dev.ryanhcode.sable.companion.impl.SableCompanionUtil;
+import io.netty.buffer.ByteBuf;
+import net.minecraft.network.codec.StreamCodec;
 import org.jetbrains.annotations.Contract;
 import org.joml.Quaterniond;
 import org.joml.Vector3d;
@@ -24,6 +26,25 @@ public final class Pose3d implements Pose3dc {
             SableCompanionUtil.VECTOR_3D_CODEC.fieldOf("scale").forGetter(Pose3d::scale)
     ).apply(instance, Pose3d::new));
 
+    /**
+     * Writes the raw components of a pose, for network sync without the boxing of {@link #CODEC}.
+     *
+     * @see dev.ryanhcode.sable.companion.network.CompactPoseCodec
+     * @since 1.5.0
+     */
+    public static final StreamCodec<ByteBuf, Pose3d> STREAM_CODEC = StreamCodec.of(
+            (buf, pose) -> {
+                SableCompanionUtil.VECTOR_3D_STREAM_CODEC.encode(buf, pose.position);
+                SableCompanionUtil.QUATERNIOND_STREAM_CODEC.encode(buf, pose.orientation);
+                SableCompanionUtil.VECTOR_3D_STREAM_CODEC.encode(buf, pose.rotationPoint);
+                SableCompanionUtil.VECTOR_3D_STREAM_CODEC.encode(buf, pose.scale);
+            },
+            buf -> new Pose3d(
+                    SableCompanionUtil.VECTOR_3D_STREAM_CODEC.decode(buf),
+                    SableCompanionUtil.QUATERNIOND_STREAM_CODEC.decode(buf),
+                    SableCompanionUtil.VECTOR_3D_STREAM_CODEC.decode(buf),
+                    SableCompanionUtil.VECTOR_3D_STREAM_CODEC.decode(buf)));
+
     private final Vector3d position;
     private final Quaterniond orientation;
     private final Vector3d rotationPoint;
@@ -90,6 +111,44 @@ public final class Pose3d implements Pose3dc {
         return this.lerp(pose, frac, this);
     }
 
+    /**
+     * Composes this pose with another pose, so that this pose transforms a position by the other pose first.
+     *
+     * @param other the pose to apply first
+     * @return this
+     * @see Pose3dc#mul(Pose3dc, Pose3d)
+     * @since 1.5.0
+     */
+    @Contract(value = "_->this", mutates = "this")
+    public Pose3d mul(final Pose3dc other) {
+        return this.mul(other, this);
+    }
+
+    /**
+     * Inverts this pose.
+     *
+     * @return this
+     * @see Pose3dc#invert(Pose3d)
+     * @since 1.5.0
+     */
+    @Contract(value = "->this", mutates = "this")
+    public Pose3d invert() {
+        return this.invert(this);
+    }
+
+    /**
+     * Expresses this pose in the frame of another pose.
+     *
+     * @param other the pose whose frame to express this pose in
+     * @return this
+     * @see Pose3dc#relativeTo(Pose3dc, Pose3d)
+     * @since 1.5.0
+     */
+    @Contract(value = "_->this", mutates = "this")
+    public Pose3d relativeTo(final Pose3dc other) {
+        return this.relativeTo(other, this);
+    }
+
     /**
      * @return the global position of this pose.
      */
@@ -4,13 +4,15 @@ import net.minecraft.world.phys.Vec3;
 import org.jetbrains.annotations.Contract;
 import org.joml.*;
 
+import java.lang.Math;
+
 /**
  * A read-only 3D pose, consisting of a position, rotation, and scale.
  *
  * @since 1.0.0
  */
 @SuppressWarnings("UnstableApiUsage")
-public sealed interface Pose3dc permits Pose3d {
+public sealed interface Pose3dc permits CompiledPose3d, Pose3d {
 
     /**
      * @return the global position of this pose.
@@ -205,6 +207,87 @@ public sealed interface Pose3dc permits Pose3d {
         return dest;
     }
 
+    /**
+     * Composes this pose with another pose, so that the result transforms a position by the other pose first and then
+     * by this pose. The result is exact if this pose has a uniform scale, and drops the shear otherwise.
+     *
+     * @param other the pose to apply first
+     * @param dest  will hold the result, may be this or other
+     * @return dest
+     * @since 1.5.0
+     */
+    @Contract(value = "_,_->param2", mutates = "param2")
+    default Pose3d mul(final Pose3dc other, final Pose3d dest) {
+        final Vector3dc position = this.position(), rotationPoint = this.rotationPoint(), scale = this.scale();
+        final Vector3dc otherPosition = other.position(), otherRotationPoint = other.rotationPoint(), otherScale = other.scale();
+
+        final double px = position.x(), py = position.y(), pz = position.z();
+        final double ox = (otherPosition.x() - rotationPoint.x()) * scale.x();
+        final double oy = (otherPosition.y() - rotationPoint.y()) * scale.y();
+        final double oz = (otherPosition.z() - rotationPoint.z()) * scale.z();
+        final double rpx = otherRotationPoint.x(), rpy = otherRotationPoint.y(), rpz = otherRotationPoint.z();
+        final double sx = scale.x() * otherScale.x(), sy = scale.y() * otherScale.y(), sz = scale.z() * otherScale.z();
+
+        this.orientation().transform(ox, oy, oz, dest.position()).add(px, py, pz);
+        this.orientation().mul(other.orientation(), dest.orientation());
+        dest.rotationPoint().set(rpx, rpy, rpz);
+        dest.scale().set(sx, sy, sz);
+        return dest;
+    }
+
+    /**
+     * Inverts this pose, so that the result transforms global positions to local positions.
+     * The result is exact if this pose has a uniform scale.
+     *
+     * @param dest will hold the result, may be this
+     * @return dest
+     * @since 1.5.0
+     */
+    @Contract(value = "_->param1", mutates = "param1")
+    default Pose3d invert(final Pose3d dest) {
+        final Vector3dc position = this.position(), rotationPoint = this.rotationPoint(), scale = this.scale();
+
+        final double px = position.x(), py = position.y(), pz = position.z();
+        final double rpx = rotationPoint.x(), rpy = rotationPoint.y(), rpz = rotationPoint.z();
+        final double sx = 1.0 / scale.x(), sy = 1.0 / scale.y(), sz = 1.0 / scale.z();
+
+        dest.orientation().set(this.orientation()).conjugate();
+        dest.position().set(rpx, rpy, rpz);
+        dest.rotationPoint().set(px, py, pz);
+        dest.scale().set(sx, sy, sz);
+        return dest;
+    }
+
+    /**
+     * Expresses this pose in the frame of another pose, so that the result transforms local positions of this pose
+     * to local positions of the other pose. Equivalent to {@code other.invert().mul(this)}, and exact if the other
+     * pose has a uniform scale.
+     *
+     * @param other the pose whose frame to express this pose in
+     * @param dest  will hold the result, may be this or other
+     * @return dest
+     * @since 1.5.0
+     */
+    @Contract(value = "_,_->param2", mutates = "param2")
+    default Pose3d relativeTo(final Pose3dc other, final Pose3d dest) {
+        final Vector3dc position = this.position(), rotationPoint = this.rotationPoint(), scale = this.scale();
+        final Vector3dc otherPosition = other.position(), otherRotationPoint = other.rotationPoint(), otherScale = other.scale();
+        final Quaterniondc orientation = this.orientation();
+
+        final double dx = position.x() - otherPosition.x(), dy = position.y() - otherPosition.y(), dz = position.z() - otherPosition.z();
+        final double isx = 1.0 / otherScale.x(), isy = 1.0 / otherScale.y(), isz = 1.0 / otherScale.z();
+        final double rpx = otherRotationPoint.x(), rpy = otherRotationPoint.y(), rpz = otherRotationPoint.z();
+        final double ownRpx = rotationPoint.x(), ownRpy = rotationPoint.y(), ownRpz = rotationPoint.z();
+        final double sx = scale.x() * isx, sy = scale.y() * isy, sz = scale.z() * isz;
+        final double qx = orientation.x(), qy = orientation.y(), qz = orientation.z(), qw = orientation.w();
+
+        other.orientation().transformInverse(dx, dy, dz, dest.position()).mul(isx, isy, isz).add(rpx, rpy, rpz);
+        dest.orientation().set(other.orientation()).conjugate().mul(qx, qy, qz, qw);
+        dest.rotationPoint().set(ownRpx, ownRpy, ownRpz);
+        dest.scale().set(sx, sy, sz);
+        return dest;
+    }
+
     /**
      * Bakes this pose into a matrix transform.
      *
@@ -221,6 +304,141 @@ public sealed interface Pose3dc permits Pose3d {
                 .translate(-rotationPoint.x(), -rotationPoint.y(), -rotationPoint.z());
     }
 
+    /**
+     * Bakes the inverse of this pose into a matrix transform, mapping global positions to local positions.
+     *
+     * @param dest will hold the result
+     * @return dest
+     * @since 1.5.0
+     */
+    @Contract(value = "_->param1", mutates = "param1")
+    default Matrix4d bakeInverseIntoMatrix(final Matrix4d dest) {
+        final Vector3dc position = this.position();
+        final Vector3dc scale = this.scale();
+        // The transposed rotation is the rotation of the conjugate, without building the conjugate
+        return dest.rotation(this.orientation())
+                .transpose3x3()
+                .scaleLocal(1.0 / scale.x(), 1.0 / scale.y(), 1.0 / scale.z())
+                .translate(-position.x(), -position.y(), -position.z())
+                .translateLocal(this.rotationPoint());
+    }
+
+    /**
+     * Transforms a run of local positions to global positions in place.
+     *
+     * @param xs     the X components of the positions
+     * @param ys     the Y components of the positions
+     * @param zs     the Z components of the positions
+     * @param offset the index of the first position
+     * @param count  the amount of positions
+     * @since 1.5.0
+     */
+    @Contract(mutates = "param1,param2,param3")
+    default void transformPositions(final double[] xs, final double[] ys, final double[] zs, final int offset, final int count) {
+        PoseBatchTransforms.transform(this, false, true, xs, ys, zs, offset, count);
+    }
+
+    /**
+     * Transforms a run of local positions stored as interleaved {@code x, y, z} triples to global positions in place.
+     *
+     * @param xyz    the positions
+     * @param offset the index of the X component of the first position
+     * @param count  the amount of positions
+     * @since 1.5.0
+     */
+    @Contract(mutates = "param1")
+    default void transformPositions(final double[] xyz, final int offset, final int count) {
+        PoseBatchTransforms.transform(this, false, true, xyz, offset, count);
+    }
+
+    /**
+     * Transforms a run of global positions to local positions in place.
+     *
+     * @param xs     the X components of the positions
+     * @param ys     the Y components of the positions
+     * @param zs     the Z components of the positions
+     * @param offset the index of the first position
+     * @param count  the amount of positions
+     * @since 1.5.0
+     */
+    @Contract(mutates = "param1,param2,param3")
+    default void transformPositionsInverse(final double[] xs, final double[] ys, final double[] zs, final int offset, final int count) {
+        PoseBatchTransforms.transform(this, true, true, xs, ys, zs, offset, count);
+    }
+
+    /**
+     * Transforms a run of global positions stored as interleaved {@code x, y, z} triples to local positions in place.
+     *
+     * @param xyz    the positions
+     * @param offset the index of the X component of the first position
+     * @param count  the amount of positions
+     * @since 1.5.0
+     */
+    @Contract(mutates = "param1")
+    default void transformPositionsInverse(final double[] xyz, final int offset, final int count) {
+        PoseBatchTransforms.transform(this, true, true, xyz, offset, count);
+    }
+
+    /**
+     * Transforms a run of local normals to global normals in place.
+     * If the scale is non-uniform, the results will not be of the same magnitude.
+     *
+     * @param xs     the X components of the normals
+     * @param ys     the Y components of the normals
+     * @param zs     the Z components of the normals
+     * @param offset the index of the first normal
+     * @param count  the amount of normals
+     * @since 1.5.0
+     */
+    @Contract(mutates = "param1,param2,param3")
+    default void transformNormals(final double[] xs, final double[] ys, final double[] zs, final int offset, final int count) {
+        PoseBatchTransforms.transform(this, false, false, xs, ys, zs, offset, count);
+    }
+
+    /**
+     * Transforms a run of local normals stored as interleaved {@code x, y, z} triples to global normals in place.
+     * If the scale is non-uniform, the results will not be of the same magnitude.
+     *
+     * @param xyz    the normals
+     * @param offset the index of the X component of the first normal
+     * @param count  the amount of normals
+     * @since 1.5.0
+     */
+    @Contract(mutates = "param1")
+    default void transformNormals(final double[] xyz, final int offset, final int count) {
+        PoseBatchTransforms.transform(this, false, false, xyz, offset, count);
+    }
+
+    /**
+     * Transforms a run of global normals to local normals in place.
+     * If the scale is non-uniform, the results will not be of the same magnitude.
+     *
+     * @param xs     the X components of the normals
+     * @param ys     the Y components of the normals
+     * @param zs     the Z components of the normals
+     * @param offset the index of the first normal
+     * @param count  the amount of normals
+     * @since 1.5.0
+     */
+    @Contract(mutates = "param1,param2,param3")
+    default void transformNormalsInverse(final double[] xs, final double[] ys, final double[] zs, final int offset, final int count) {
+        PoseBatchTransforms.transform(this, true, false, xs, ys, zs, offset, count);
+    }
+
+    /**
+     * Transforms a run of global normals stored as interleaved {@code x, y, z} triples to local normals in place.
+     * If the scale is non-uniform, the results will not be of the same magnitude.
+     *
+     * @param xyz    the normals
+     * @param offset the index of the X component of the first normal
+     * @param count  the amount of normals
+     * @since 1.5.0
+     */
+    @Contract(mutates = "param1")
+    default void transformNormalsInverse(final double[] xyz, final int offset, final int count) {
+        PoseBatchTransforms.transform(this, true, false, xyz, offset, count);
+    }
+
     /**
      * @param pose3d            the pose to compare to
      * @param distanceTolerance the distance tolerance [m]
@@ -229,8 +447,32 @@ public sealed interface Pose3dc permits Pose3d {
      */
     @Contract(pure = true)
     default boolean withinTolerance(final Pose3d pose3d, final double distanceTolerance, final double angularTolerance) {
-        return this.position().distanceSquared(pose3d.position()) <= distanceTolerance * distanceTolerance
-                && this.rotationPoint().distanceSquared(pose3d.rotationPoint()) <= distanceTolerance * distanceTolerance
-                && this.orientation().div(pose3d.orientation(), new Quaterniond()).angle() <= angularTolerance;
+        return this.withinTolerance((Pose3dc) pose3d, distanceTolerance, angularTolerance);
+    }
+
+    /**
+     * Checks if this pose is within the distance tolerance and angular tolerance of another pose, without allocating.
+     * The angle between the orientations is compared through the dot product of the quaternions, as
+     * {@code |q1 . q2| >= cos(angularTolerance / 2)}.
+     *
+     * @param pose              the pose to compare to
+     * @param distanceTolerance the distance tolerance [m]
+     * @param angularTolerance  the angular tolerance [rad]
+     * @return if this pose is within the distance tolerance and angular tolerance of another pose
+     * @since 1.5.0
+     */
+    @Contract(pure = true)
+    default boolean withinTolerance(final Pose3dc pose, final double distanceTolerance, final double angularTolerance) {
+        if (angularTolerance < 0.0
+                || this.position().distanceSquared(pose.position()) > distanceTolerance * distanceTolerance
+                || this.rotationPoint().distanceSquared(pose.rotationPoint()) > distanceTolerance * distanceTolerance) {
+            return false;
+        }
+
+        final Quaterniondc a = this.orientation();
+        final Quaterniondc b = pose.orientation();
+        final double dot = a.x() * b.x() + a.y() * b.y() + a.z() * b.z() + a.w() * b.w();
+        final double lengthSquared = b.lengthSquared();
+        return Math.abs(dot) >= Math.cos(Math.min(angularTolerance, Math.PI) * 0.5) * lengthSquared;
     }
 }
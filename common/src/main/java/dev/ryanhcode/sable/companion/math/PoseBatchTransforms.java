@@ -0,0 +1,188 @@
+package dev.ryanhcode.sable.companion.math;
+
+import org.jetbrains.annotations.Nullable;
+import org.joml.Matrix4dc;
+import org.joml.Quaterniondc;
+import org.joml.Vector3dc;
+
+import java.util.Objects;
+
+/**
+ * Applies an affine transform to runs of points, reading it into locals once per batch.
+ * Separate coordinate arrays are handed to the {@link VectorSupport#POINTS} kernel first when there is one.
+ */
+final class PoseBatchTransforms {
+
+    private PoseBatchTransforms() {
+    }
+
+    /**
+     * Transforms points stored as separate coordinate arrays in place.
+     *
+     * @param matrix    the affine transform
+     * @param translate if the translation should be applied, false for normals
+     */
+    static void transform(final Matrix4dc matrix, final boolean translate, final double[] xs, final double[] ys, final double[] zs, final int offset, final int count) {
+        checkSeparate(xs, ys, zs, offset, count);
+        transform(matrix, translate, xs, ys, zs, null, offset, count);
+    }
+
+    /**
+     * Transforms points stored interleaved as {@code x, y, z} triples in place.
+     *
+     * @param matrix    the affine transform
+     * @param translate if the translation should be applied, false for normals
+     * @param offset    the index of the X component of the first point
+     * @param count     the amount of points
+     */
+    static void transform(final Matrix4dc matrix, final boolean translate, final double[] xyz, final int offset, final int count) {
+        Objects.checkFromIndexSize(offset, count * 3, xyz.length);
+        transform(matrix, translate, null, null, null, xyz, offset, count);
+    }
+
+    /**
+     * Transforms points stored as separate coordinate arrays in place by a pose, or by its inverse, straight from the
+     * pose components.
+     *
+     * @param inverse   if the inverse of the pose should be applied, mapping global points to local points
+     * @param translate if the translation should be applied, false for normals
+     */
+    static void transform(final Pose3dc pose, final boolean inverse, final boolean translate, final double[] xs, final double[] ys, final double[] zs, final int offset, final int count) {
+        checkSeparate(xs, ys, zs, offset, count);
+        transform(pose, inverse, translate, xs, ys, zs, null, offset, count);
+    }
+
+    /**
+     * Transforms points stored interleaved as {@code x, y, z} triples in place by a pose, or by its inverse, straight
+     * from the pose components.
+     *
+     * @param inverse   if the inverse of the pose should be applied, mapping global points to local points
+     * @param translate if the translation should be applied, false for normals
+     * @param offset    the index of the X component of the first point
+     * @param count     the amount of points
+     */
+    static void transform(final Pose3dc pose, final boolean inverse, final boolean translate, final double[] xyz, final int offset, final int count) {
+        Objects.checkFromIndexSize(offset, count * 3, xyz.length);
+        transform(pose, inverse, translate, null, null, null, xyz, offset, count);
+    }
+
+    private static void checkSeparate(final double[] xs, final double[] ys, final double[] zs, final int offset, final int count) {
+        Objects.checkFromIndexSize(offset, count, xs.length);
+        Objects.checkFromIndexSize(offset, count, ys.length);
+        Objects.checkFromIndexSize(offset, count, zs.length);
+    }
+
+    /**
+     * Transforms either the interleaved points in xyz, or the separate coordinates in xs, ys and zs.
+     */
+    private static void transform(final Matrix4dc matrix, final boolean translate,
+                                  @Nullable final double[] xs, @Nullable final double[] ys, @Nullable final double[] zs, @Nullable final double[] xyz,
+                                  final int offset, final int count) {
+        transform(matrix.m00(), matrix.m01(), matrix.m02(),
+                matrix.m10(), matrix.m11(), matrix.m12(),
+                matrix.m20(), matrix.m21(), matrix.m22(),
+                translate ? matrix.m30() : 0.0, translate ? matrix.m31() : 0.0, translate ? matrix.m32() : 0.0,
+                xs, ys, zs, xyz, offset, count);
+    }
+
+    /**
+     * Transforms either the interleaved points in xyz, or the separate coordinates in xs, ys and zs, by the same
+     * matrix {@link Pose3dc#bakeIntoMatrix} or {@link Pose3dc#bakeInverseIntoMatrix} would build.
+     */
+    private static void transform(final Pose3dc pose, final boolean inverse, final boolean translate,
+                                  @Nullable final double[] xs, @Nullable final double[] ys, @Nullable final double[] zs, @Nullable final double[] xyz,
+                                  final int offset, final int count) {
+        // Rotation matrix of the orientation, row-major, like Matrix4d#rotate(Quaterniondc)
+        final Quaterniondc q = pose.orientation();
+        final double qx = q.x(), qy = q.y(), qz = q.z(), qw = q.w();
+        final double xx = qx * qx, yy = qy * qy, zz = qz * qz, ww = qw * qw;
+        final double xy = qx * qy, xz = qx * qz, yz = qy * qz;
+        final double xw = qx * qw, yw = qy * qw, zw = qz * qw;
+
+        final double r00 = ww + xx - zz - yy, r01 = 2.0 * (xy - zw), r02 = 2.0 * (xz + yw);
+        final double r10 = 2.0 * (xy + zw), r11 = yy - zz + ww - xx, r12 = 2.0 * (yz - xw);
+        final double r20 = 2.0 * (xz - yw), r21 = 2.0 * (yz + xw), r22 = zz - yy - xx + ww;
+
+        final Vector3dc p = pose.position();
+        final Vector3dc rp = pose.rotationPoint();
+        final Vector3dc s = pose.scale();
+
+        final double m00, m01, m02, m10, m11, m12, m20, m21, m22;
+        final double tx, ty, tz;
+        if (!inverse) {
+            // global = R * S * (local - rp) + p
+            final double sx = s.x(), sy = s.y(), sz = s.z();
+            m00 = r00 * sx;
+            m01 = r10 * sx;
+            m02 = r20 * sx;
+            m10 = r01 * sy;
+            m11 = r11 * sy;
+            m12 = r21 * sy;
+            m20 = r02 * sz;
+            m21 = r12 * sz;
+            m22 = r22 * sz;
+            tx = p.x();
+            ty = p.y();
+            tz = p.z();
+        } else {
+            // local = S^-1 * R^T * (global - p) + rp
+            final double isx = 1.0 / s.x(), isy = 1.0 / s.y(), isz = 1.0 / s.z();
+            m00 = r00 * isx;
+            m01 = r01 * isy;
+            m02 = r02 * isz;
+            m10 = r10 * isx;
+            m11 = r11 * isy;
+            m12 = r12 * isz;
+            m20 = r20 * isx;
+            m21 = r21 * isy;
+            m22 = r22 * isz;
+            tx = rp.x();
+            ty = rp.y();
+            tz = rp.z();
+        }
+
+        double m30 = 0.0, m31 = 0.0, m32 = 0.0;
+        if (translate) {
+            final Vector3dc from = inverse ? p : rp;
+            final double fx = from.x(), fy = from.y(), fz = from.z();
+            m30 = tx - (m00 * fx + m10 * fy + m20 * fz);
+            m31 = ty - (m01 * fx + m11 * fy + m21 * fz);
+            m32 = tz - (m02 * fx + m12 * fy + m22 * fz);
+        }
+
+        transform(m00, m01, m02, m10, m11, m12, m20, m21, m22, m30, m31, m32, xs, ys, zs, xyz, offset, count);
+    }
+
+    /**
+     * Transforms either the interleaved points in xyz, or the separate coordinates in xs, ys and zs, by a column-major
+     * affine matrix.
+     */
+    private static void transform(final double m00, final double m01, final double m02,
+                                  final double m10, final double m11, final double m12,
+                                  final double m20, final double m21, final double m22,
+                                  final double m30, final double m31, final double m32,
+                                  @Nullable final double[] xs, @Nullable final double[] ys, @Nullable final double[] zs, @Nullable final double[] xyz,
+                                  final int offset, final int count) {
+        if (xyz != null) {
+            final int end = offset + count * 3;
+            for (int i = offset; i < end; i += 3) {
+                final double x = xyz[i], y = xyz[i + 1], z = xyz[i + 2];
+                xyz[i] = m00 * x + m10 * y + m20 * z + m30;
+                xyz[i + 1] = m01 * x + m11 * y + m21 * z + m31;
+                xyz[i + 2] = m02 * x + m12 * y + m22 * z + m32;
+            }
+            return;
+        }
+
+        final PointTransformKernel kernel = VectorSupport.POINTS;
+        final int start = kernel != null
+                ? kernel.transform(m00, m01, m02, m10, m11, m12, m20, m21, m22, m30, m31, m32, xs, ys, zs, offset, count)
+                : offset;
+        for (int i = start; i < offset + count; i++) {
+            final double x = xs[i], y = ys[i], z = zs[i];
+            xs[i] = m00 * x + m10 * y + m20 * z + m30;
+            ys[i] = m01 * x + m11 * y + m21 * z + m31;
+            zs[i] = m02 * x + m12 * y + m22 * z + m32;
+        }
+    }
+}
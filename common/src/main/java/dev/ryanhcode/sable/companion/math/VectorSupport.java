@@ -0,0 +1,46 @@
+package dev.ryanhcode.sable.companion.math;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Detects if the optional {@code jdk.incubator.vector} kernels can be used.
+ * <br>
+ * The kernels are compiled in the separate {@code vector} source set, so they are missing wherever only the main
+ * sources are built. They are only used when the class is present, the module has been added to the boot layer with
+ * {@code --add-modules jdk.incubator.vector}, the hardware has real SIMD registers, and the
+ * {@code sable.companion.vectorize} system property is not set to false. This class only finds the kernels
+ * reflectively, so it is always safe to load.
+ */
+final class VectorSupport {
+
+    private static final String KERNEL_CLASS = "dev.ryanhcode.sable.companion.math.VectorizedTransforms";
+
+    /**
+     * The kernel the bulk point transforms should use, or null to stay scalar
+     */
+    static final @Nullable PointTransformKernel POINTS;
+
+    static {
+        PointTransformKernel points = null;
+
+        if (Boolean.parseBoolean(System.getProperty("sable.companion.vectorize", "true"))
+                && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                final PointTransformKernel kernel = (PointTransformKernel) Class.forName(KERNEL_CLASS)
+                        .getDeclaredConstructor()
+                        .newInstance();
+
+                if (kernel.hasPointSupport()) {
+                    points = kernel;
+                }
+            } catch (final ReflectiveOperationException | LinkageError ignored) {
+                // The kernels were not built, or the module is present but not readable from here, so stay scalar
+            }
+        }
+
+        POINTS = points;
+    }
+
+    private VectorSupport() {
+    }
+}
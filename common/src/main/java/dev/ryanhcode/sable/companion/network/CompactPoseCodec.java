@@ -0,0 +1,228 @@
+package dev.ryanhcode.sable.companion.network;
+
+import dev.ryanhcode.sable.companion.math.Pose3d;
+import dev.ryanhcode.sable.companion.math.Pose3dc;
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.DecoderException;
+import org.jetbrains.annotations.Nullable;
+import org.joml.Quaterniond;
+import org.joml.Quaterniondc;
+import org.joml.Vector3d;
+import org.joml.Vector3dc;
+
+/**
+ * A quantized wire format for poses, as a compact alternative to {@link Pose3d#STREAM_CODEC}.
+ * <br>
+ * The position is written as fixed-point offsets from a per-sub-level anchor, the orientation with smallest-three
+ * packing into a single long, and the scale as nothing, one float or three floats depending on if it is one or uniform.
+ * The rotation point is only written when it differs from the previously sent one.
+ * A typical update of a sub-level at unit scale is 21 bytes, instead of the 104 bytes of the raw stream codec.
+ * <br>
+ * Both sides must agree on the anchor and on the previous rotation point, for example by storing them per sub-level
+ * when it is first synced.
+ *
+ * @since 1.5.0
+ */
+public final class CompactPoseCodec {
+
+    /**
+     * The resolution of encoded positions, in blocks.
+     */
+    public static final double POSITION_RESOLUTION = 1.0 / 4096.0;
+
+    /**
+     * The largest distance on any axis from the anchor a position can be encoded at with fixed-point offsets.
+     * Positions further away are written as raw doubles.
+     */
+    public static final double MAX_ANCHOR_DISTANCE = (Integer.MAX_VALUE - 1) * POSITION_RESOLUTION;
+
+    private static final int FLAG_UNIT_SCALE = 1;
+    private static final int FLAG_UNIFORM_SCALE = 1 << 1;
+    private static final int FLAG_ROTATION_POINT = 1 << 2;
+    private static final int FLAG_RAW_POSITION = 1 << 3;
+
+    private static final int COMPONENT_BITS = 20;
+    private static final int COMPONENT_MASK = (1 << COMPONENT_BITS) - 1;
+    private static final double COMPONENT_RANGE = Math.sqrt(0.5);
+    private static final double COMPONENT_SCALE = COMPONENT_MASK / (2.0 * COMPONENT_RANGE);
+
+    private CompactPoseCodec() {
+    }
+
+    /**
+     * Writes a pose.
+     *
+     * @param buf                   the buffer to write to
+     * @param pose                  the pose to write
+     * @param anchor                the anchor the position is written relative to
+     * @param previousRotationPoint the rotation point last written for the same sub-level, or null to always write it
+     */
+    public static void encode(final ByteBuf buf, final Pose3dc pose, final Vector3dc anchor, @Nullable final Vector3dc previousRotationPoint) {
+        final Vector3dc position = pose.position();
+        final Vector3dc scale = pose.scale();
+        final Vector3dc rotationPoint = pose.rotationPoint();
+
+        final double offsetX = position.x() - anchor.x();
+        final double offsetY = position.y() - anchor.y();
+        final double offsetZ = position.z() - anchor.z();
+
+        int flags = 0;
+        if (scale.x() == 1.0 && scale.y() == 1.0 && scale.z() == 1.0) {
+            flags |= FLAG_UNIT_SCALE;
+        } else if (scale.x() == scale.y() && scale.x() == scale.z()) {
+            flags |= FLAG_UNIFORM_SCALE;
+        }
+        if (previousRotationPoint == null || !previousRotationPoint.equals(rotationPoint)) {
+            flags |= FLAG_ROTATION_POINT;
+        }
+        if (!(Math.abs(offsetX) < MAX_ANCHOR_DISTANCE && Math.abs(offsetY) < MAX_ANCHOR_DISTANCE && Math.abs(offsetZ) < MAX_ANCHOR_DISTANCE)) {
+            flags |= FLAG_RAW_POSITION;
+        }
+
+        buf.writeByte(flags);
+
+        if ((flags & FLAG_RAW_POSITION) != 0) {
+            buf.writeDouble(position.x()).writeDouble(position.y()).writeDouble(position.z());
+        } else {
+            buf.writeInt((int) Math.round(offsetX / POSITION_RESOLUTION));
+            buf.writeInt((int) Math.round(offsetY / POSITION_RESOLUTION));
+            buf.writeInt((int) Math.round(offsetZ / POSITION_RESOLUTION));
+        }
+
+        buf.writeLong(packOrientation(pose.orientation()));
+
+        if ((flags & FLAG_ROTATION_POINT) != 0) {
+            buf.writeDouble(rotationPoint.x()).writeDouble(rotationPoint.y()).writeDouble(rotationPoint.z());
+        }
+
+        if ((flags & FLAG_UNIFORM_SCALE) != 0) {
+            buf.writeFloat((float) scale.x());
+        } else if ((flags & FLAG_UNIT_SCALE) == 0) {
+            buf.writeFloat((float) scale.x()).writeFloat((float) scale.y()).writeFloat((float) scale.z());
+        }
+    }
+
+    /**
+     * Reads a pose written by {@link #encode}.
+     *
+     * @param buf                   the buffer to read from
+     * @param anchor                the anchor the position was written relative to
+     * @param previousRotationPoint the rotation point last read for the same sub-level, or null if none has been read yet
+     * @param dest                  the pose to read into
+     * @return dest
+     * @throws DecoderException if the rotation point was omitted and no previous rotation point is known
+     */
+    public static Pose3d decode(final ByteBuf buf, final Vector3dc anchor, @Nullable final Vector3dc previousRotationPoint, final Pose3d dest) {
+        final int flags = buf.readUnsignedByte();
+
+        final Vector3d position = dest.position();
+        if ((flags & FLAG_RAW_POSITION) != 0) {
+            position.set(buf.readDouble(), buf.readDouble(), buf.readDouble());
+        } else {
+            position.set(
+                    anchor.x() + buf.readInt() * POSITION_RESOLUTION,
+                    anchor.y() + buf.readInt() * POSITION_RESOLUTION,
+                    anchor.z() + buf.readInt() * POSITION_RESOLUTION);
+        }
+
+        unpackOrientation(buf.readLong(), dest.orientation());
+
+        if ((flags & FLAG_ROTATION_POINT) != 0) {
+            dest.rotationPoint().set(buf.readDouble(), buf.readDouble(), buf.readDouble());
+        } else if (previousRotationPoint != null) {
+            dest.rotationPoint().set(previousRotationPoint);
+        } else {
+            throw new DecoderException("Pose omitted its rotation point, but no previous rotation point is known");
+        }
+
+        if ((flags & FLAG_UNIT_SCALE) != 0) {
+            dest.scale().set(1.0);
+        } else if ((flags & FLAG_UNIFORM_SCALE) != 0) {
+            dest.scale().set(buf.readFloat());
+        } else {
+            dest.scale().set(buf.readFloat(), buf.readFloat(), buf.readFloat());
+        }
+
+        return dest;
+    }
+
+    /**
+     * Packs a rotation with smallest-three packing.
+     * The largest component is dropped and its index is stored in two bits, and the remaining three components
+     * are stored in 20 bits each. The largest component is made positive, as {@code q} and {@code -q} are the same rotation.
+     *
+     * @param orientation the rotation to pack, which does not need to be normalized
+     * @return the packed rotation
+     */
+    public static long packOrientation(final Quaterniondc orientation) {
+        double x = orientation.x();
+        double y = orientation.y();
+        double z = orientation.z();
+        double w = orientation.w();
+
+        final double length = Math.sqrt(x * x + y * y + z * z + w * w);
+        if (length == 0.0) {
+            return packOrientation(3, 0.0, 0.0, 0.0);
+        }
+
+        x /= length;
+        y /= length;
+        z /= length;
+        w /= length;
+
+        final double absX = Math.abs(x);
+        final double absY = Math.abs(y);
+        final double absZ = Math.abs(z);
+        final double absW = Math.abs(w);
+
+        if (absX >= absY && absX >= absZ && absX >= absW) {
+            return x < 0.0 ? packOrientation(0, -y, -z, -w) : packOrientation(0, y, z, w);
+        } else if (absY >= absZ && absY >= absW) {
+            return y < 0.0 ? packOrientation(1, -x, -z, -w) : packOrientation(1, x, z, w);
+        } else if (absZ >= absW) {
+            return z < 0.0 ? packOrientation(2, -x, -y, -w) : packOrientation(2, x, y, w);
+        } else {
+            return w < 0.0 ? packOrientation(3, -x, -y, -z) : packOrientation(3, x, y, z);
+        }
+    }
+
+    private static long packOrientation(final int largest, final double a, final double b, final double c) {
+        return ((long) largest << (COMPONENT_BITS * 3))
+                | ((long) quantizeComponent(a) << (COMPONENT_BITS * 2))
+                | ((long) quantizeComponent(b) << COMPONENT_BITS)
+                | quantizeComponent(c);
+    }
+
+    /**
+     * Unpacks a rotation packed with {@link #packOrientation(Quaterniondc)}.
+     *
+     * @param packed the packed rotation
+     * @param dest   the quaternion to unpack into
+     * @return dest, normalized
+     */
+    public static Quaterniond unpackOrientation(final long packed, final Quaterniond dest) {
+        final int largest = (int) (packed >>> (COMPONENT_BITS * 3)) & 3;
+        final double a = dequantizeComponent((int) (packed >>> (COMPONENT_BITS * 2)) & COMPONENT_MASK);
+        final double b = dequantizeComponent((int) (packed >>> COMPONENT_BITS) & COMPONENT_MASK);
+        final double c = dequantizeComponent((int) packed & COMPONENT_MASK);
+        final double d = Math.sqrt(Math.max(0.0, 1.0 - a * a - b * b - c * c));
+
+        switch (largest) {
+            case 0 -> dest.set(d, a, b, c);
+            case 1 -> dest.set(a, d, b, c);
+            case 2 -> dest.set(a, b, d, c);
+            default -> dest.set(a, b, c, d);
+        }
+
+        return dest.normalize();
+    }
+
+    private static int quantizeComponent(final double value) {
+        final long quantized = Math.round((value + COMPONENT_RANGE) * COMPONENT_SCALE);
+        return (int) Math.max(0L, Math.min(COMPONENT_MASK, quantized));
+    }
+
+    private static double dequantizeComponent(final int quantized) {
+        return quantized / COMPONENT_SCALE - COMPONENT_RANGE;
+    }
+}
@@ -0,0 +1,68 @@
+package dev.ryanhcode.sable.companion.network;
+
+import dev.ryanhcode.sable.companion.math.Pose3d;
+import dev.ryanhcode.sable.companion.math.Pose3dc;
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.DecoderException;
+import org.jetbrains.annotations.Contract;
+import org.joml.Vector3d;
+
+/**
+ * Decodes the pose updates of a single sub-level written by a {@link PoseDeltaEncoder}.
+ * <br>
+ * Ticks without an update mean the pose is unchanged, so {@link #pose()} keeps the last decoded pose.
+ *
+ * @since 1.5.0
+ */
+public final class PoseDeltaDecoder {
+
+    private final Pose3d pose = new Pose3d();
+    private final Vector3d anchor = new Vector3d();
+    private boolean hasKeyframe;
+
+    /**
+     * Reads an update written by {@link PoseDeltaEncoder#encode}.
+     *
+     * @param buf the buffer to read from
+     * @return the decoded pose, which is re-used for every update
+     * @throws DecoderException if a delta is read before any keyframe, or the update type is unknown
+     */
+    @Contract(mutates = "this,param1")
+    public Pose3dc decode(final ByteBuf buf) {
+        final byte type = buf.readByte();
+
+        switch (type) {
+            case PoseDeltaEncoder.KEYFRAME -> {
+                this.pose.set(Pose3d.STREAM_CODEC.decode(buf));
+                this.anchor.set(this.pose.position());
+                this.hasKeyframe = true;
+            }
+            case PoseDeltaEncoder.DELTA -> {
+                if (!this.hasKeyframe) {
+                    throw new DecoderException("Received a pose delta before any keyframe");
+                }
+
+                CompactPoseCodec.decode(buf, this.anchor, this.pose.rotationPoint(), this.pose);
+            }
+            default -> throw new DecoderException("Unknown pose update type " + type);
+        }
+
+        return this.pose;
+    }
+
+    /**
+     * @return if a keyframe has been received, and {@link #pose()} is valid
+     */
+    @Contract(pure = true)
+    public boolean hasKeyframe() {
+        return this.hasKeyframe;
+    }
+
+    /**
+     * @return the last decoded pose
+     */
+    @Contract(pure = true)
+    public Pose3dc pose() {
+        return this.pose;
+    }
+}
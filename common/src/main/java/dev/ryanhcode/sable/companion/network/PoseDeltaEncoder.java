@@ -0,0 +1,103 @@
+package dev.ryanhcode.sable.companion.network;
+
+import dev.ryanhcode.sable.companion.math.Pose3d;
+import dev.ryanhcode.sable.companion.math.Pose3dc;
+import io.netty.buffer.ByteBuf;
+import org.jetbrains.annotations.Contract;
+import org.joml.Vector3d;
+
+/**
+ * Encodes the pose updates of a single sub-level as keyframes and deltas, read back by a {@link PoseDeltaDecoder}.
+ * <br>
+ * A keyframe writes the full pose with {@link Pose3d#STREAM_CODEC} and becomes the anchor for the following deltas,
+ * which are written with {@link CompactPoseCodec} relative to it, so quantization error does not accumulate between
+ * keyframes. While the pose stays within the distance and angular tolerance of the last sent pose, and its scale is
+ * unchanged, nothing is written at all, so a parked sub-level costs nothing on the wire.
+ * <br>
+ * A keyframe replaces the next update after {@code keyframeInterval} ticks since the last keyframe. Use
+ * {@link #forceKeyframe()} when a new receiver starts tracking the sub-level.
+ *
+ * @since 1.5.0
+ */
+public final class PoseDeltaEncoder {
+
+    static final byte KEYFRAME = 0;
+    static final byte DELTA = 1;
+
+    private final int keyframeInterval;
+    private final double distanceTolerance;
+    private final double angularTolerance;
+
+    private final Pose3d lastSent = new Pose3d();
+    private final Vector3d anchor = new Vector3d();
+    private boolean needsKeyframe = true;
+    private int ticksSinceKeyframe;
+
+    /**
+     * @param keyframeInterval  the amount of ticks after which the next update is sent as a keyframe
+     * @param distanceTolerance the distance the position or rotation point must move before an update is sent [m]
+     * @param angularTolerance  the angle the orientation must turn before an update is sent [rad]
+     */
+    public PoseDeltaEncoder(final int keyframeInterval, final double distanceTolerance, final double angularTolerance) {
+        if (keyframeInterval <= 0) {
+            throw new IllegalArgumentException("Keyframe interval must be positive, got " + keyframeInterval);
+        }
+
+        this.keyframeInterval = keyframeInterval;
+        this.distanceTolerance = distanceTolerance;
+        this.angularTolerance = angularTolerance;
+    }
+
+    /**
+     * Writes an update for the given pose, if it has moved out of tolerance of the last sent pose.
+     * Should be called once per tick.
+     *
+     * @param buf  the buffer to write to
+     * @param pose the current pose of the sub-level
+     * @return if an update was written, and should be sent
+     */
+    @Contract(mutates = "this,param1")
+    public boolean encode(final ByteBuf buf, final Pose3dc pose) {
+        if (this.ticksSinceKeyframe < this.keyframeInterval) {
+            this.ticksSinceKeyframe++;
+        }
+
+        if (!this.needsKeyframe
+                && pose.scale().equals(this.lastSent.scale())
+                && pose.withinTolerance(this.lastSent, this.distanceTolerance, this.angularTolerance)) {
+            return false;
+        }
+
+        if (this.needsKeyframe || this.ticksSinceKeyframe >= this.keyframeInterval) {
+            this.lastSent.set(pose);
+            this.anchor.set(pose.position());
+            this.needsKeyframe = false;
+            this.ticksSinceKeyframe = 0;
+
+            buf.writeByte(KEYFRAME);
+            Pose3d.STREAM_CODEC.encode(buf, this.lastSent);
+            return true;
+        }
+
+        buf.writeByte(DELTA);
+        CompactPoseCodec.encode(buf, pose, this.anchor, this.lastSent.rotationPoint());
+        this.lastSent.set(pose);
+        return true;
+    }
+
+    /**
+     * Makes the next call to {@link #encode} write a keyframe, even if the pose has not moved.
+     */
+    @Contract(mutates = "this")
+    public void forceKeyframe() {
+        this.needsKeyframe = true;
+    }
+
+    /**
+     * @return the last pose written by this encoder
+     */
+    @Contract(pure = true)
+    public Pose3dc lastSent() {
+        return this.lastSent;
+    }
+}
@@ -0,0 +1,197 @@
+package dev.ryanhcode.sable.companion.serialization;
+
+import dev.ryanhcode.sable.companion.math.BoundingBox3d;
+import dev.ryanhcode.sable.companion.math.BoundingBox3dc;
+import dev.ryanhcode.sable.companion.math.BoundingBox3i;
+import dev.ryanhcode.sable.companion.math.BoundingBox3ic;
+import dev.ryanhcode.sable.companion.math.Pose3d;
+import dev.ryanhcode.sable.companion.math.Pose3dc;
+import net.minecraft.nbt.IntArrayTag;
+import net.minecraft.nbt.LongArrayTag;
+import net.minecraft.nbt.NbtOps;
+import net.minecraft.nbt.Tag;
+import org.joml.Quaterniondc;
+import org.joml.Vector3d;
+import org.joml.Vector3dc;
+
+/**
+ * Direct NBT serialization of poses and bounding boxes, as a faster alternative to encoding their codecs with
+ * {@link NbtOps}.
+ * <br>
+ * Values are written as the raw bits of their components in a single {@link LongArrayTag} or {@link IntArrayTag},
+ * with {@link #FORMAT_VERSION} as the first element. Reading also accepts the tags written by {@link Pose3d#CODEC},
+ * {@link BoundingBox3d#CODEC} and {@link BoundingBox3i#CODEC}, so existing saves keep loading.
+ *
+ * @since 1.5.0
+ */
+public final class CompanionNbt {
+
+    /**
+     * The version written as the first element of every array.
+     */
+    public static final int FORMAT_VERSION = 1;
+
+    private static final int POSE_LENGTH = 1 + 13;
+    private static final int BOUNDS_LENGTH = 1 + 6;
+
+    private CompanionNbt() {
+    }
+
+    /**
+     * @param pose the pose to write
+     * @return a tag holding the raw bits of the position, orientation, rotation point and scale
+     */
+    public static LongArrayTag writePose(final Pose3dc pose) {
+        final long[] data = new long[POSE_LENGTH];
+        data[0] = FORMAT_VERSION;
+
+        int i = writeVector(data, 1, pose.position());
+        final Quaterniondc orientation = pose.orientation();
+        data[i++] = Double.doubleToRawLongBits(orientation.x());
+        data[i++] = Double.doubleToRawLongBits(orientation.y());
+        data[i++] = Double.doubleToRawLongBits(orientation.z());
+        data[i++] = Double.doubleToRawLongBits(orientation.w());
+        i = writeVector(data, i, pose.rotationPoint());
+        writeVector(data, i, pose.scale());
+
+        return new LongArrayTag(data);
+    }
+
+    /**
+     * Reads a pose written by {@link #writePose} or by {@link Pose3d#CODEC}.
+     *
+     * @param tag  the tag to read
+     * @param dest the pose to read into
+     * @return dest
+     * @throws IllegalArgumentException if the tag is not a pose
+     */
+    public static Pose3d readPose(final Tag tag, final Pose3d dest) {
+        if (!(tag instanceof final LongArrayTag arrayTag)) {
+            return dest.set(Pose3d.CODEC.parse(NbtOps.INSTANCE, tag).getOrThrow(IllegalArgumentException::new));
+        }
+
+        final long[] data = checkVersion(arrayTag.getAsLongArray(), POSE_LENGTH, "pose");
+        readVector(data, 1, dest.position());
+        dest.orientation().set(
+                Double.longBitsToDouble(data[4]),
+                Double.longBitsToDouble(data[5]),
+                Double.longBitsToDouble(data[6]),
+                Double.longBitsToDouble(data[7]));
+        readVector(data, 8, dest.rotationPoint());
+        readVector(data, 11, dest.scale());
+        return dest;
+    }
+
+    /**
+     * Reads a pose written by {@link #writePose} or by {@link Pose3d#CODEC}.
+     *
+     * @param tag the tag to read
+     * @return a new pose
+     * @throws IllegalArgumentException if the tag is not a pose
+     */
+    public static Pose3d readPose(final Tag tag) {
+        return readPose(tag, new Pose3d());
+    }
+
+    /**
+     * @param bounds the bounding box to write
+     * @return a tag holding the raw bits of the bounds
+     */
+    public static LongArrayTag writeBounds(final BoundingBox3dc bounds) {
+        return new LongArrayTag(new long[]{
+                FORMAT_VERSION,
+                Double.doubleToRawLongBits(bounds.minX()),
+                Double.doubleToRawLongBits(bounds.minY()),
+                Double.doubleToRawLongBits(bounds.minZ()),
+                Double.doubleToRawLongBits(bounds.maxX()),
+                Double.doubleToRawLongBits(bounds.maxY()),
+                Double.doubleToRawLongBits(bounds.maxZ())
+        });
+    }
+
+    /**
+     * Reads a bounding box written by {@link #writeBounds(BoundingBox3dc)} or by {@link BoundingBox3d#CODEC}.
+     *
+     * @param tag  the tag to read
+     * @param dest the bounding box to read into
+     * @return dest
+     * @throws IllegalArgumentException if the tag is not a bounding box
+     */
+    public static BoundingBox3d readBounds(final Tag tag, final BoundingBox3d dest) {
+        if (!(tag instanceof final LongArrayTag arrayTag)) {
+            return dest.set(BoundingBox3d.CODEC.parse(NbtOps.INSTANCE, tag).getOrThrow(IllegalArgumentException::new));
+        }
+
+        final long[] data = checkVersion(arrayTag.getAsLongArray(), BOUNDS_LENGTH, "bounding box");
+        return dest.set(
+                Double.longBitsToDouble(data[1]),
+                Double.longBitsToDouble(data[2]),
+                Double.longBitsToDouble(data[3]),
+                Double.longBitsToDouble(data[4]),
+                Double.longBitsToDouble(data[5]),
+                Double.longBitsToDouble(data[6]));
+    }
+
+    /**
+     * @param bounds the bounding box to write
+     * @return a tag holding the bounds
+     */
+    public static IntArrayTag writeBounds(final BoundingBox3ic bounds) {
+        return new IntArrayTag(new int[]{
+                FORMAT_VERSION,
+                bounds.minX(),
+                bounds.minY(),
+                bounds.minZ(),
+                bounds.maxX(),
+                bounds.maxY(),
+                bounds.maxZ()
+        });
+    }
+
+    /**
+     * Reads a bounding box written by {@link #writeBounds(BoundingBox3ic)} or by {@link BoundingBox3i#CODEC}.
+     * {@link NbtOps} already writes the codec as a six element {@link IntArrayTag}, which is told apart from the versioned
+     * format by its length.
+     *
+     * @param tag  the tag to read
+     * @param dest the bounding box to read into
+     * @return dest
+     * @throws IllegalArgumentException if the tag is not a bounding box
+     */
+    public static BoundingBox3i readBounds(final Tag tag, final BoundingBox3i dest) {
+        if (!(tag instanceof final IntArrayTag arrayTag) || arrayTag.size() != BOUNDS_LENGTH) {
+            return dest.set(BoundingBox3i.CODEC.parse(NbtOps.INSTANCE, tag).getOrThrow(IllegalArgumentException::new));
+        }
+
+        final int[] data = arrayTag.getAsIntArray();
+        if (data[0] != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unknown bounding box format version " + data[0]);
+        }
+
+        return dest.set(data[1], data[2], data[3], data[4], data[5], data[6]);
+    }
+
+    private static long[] checkVersion(final long[] data, final int length, final String name) {
+        if (data.length == 0 || data[0] != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unknown " + name + " format version " + (data.length == 0 ? "<empty>" : data[0]));
+        }
+        if (data.length != length) {
+            throw new IllegalArgumentException("Expected " + length + " elements for a " + name + ", got " + data.length);
+        }
+        return data;
+    }
+
+    private static int writeVector(final long[] data, final int offset, final Vector3dc vector) {
+        data[offset] = Double.doubleToRawLongBits(vector.x());
+        data[offset + 1] = Double.doubleToRawLongBits(vector.y());
+        data[offset + 2] = Double.doubleToRawLongBits(vector.z());
+        return offset + 3;
+    }
+
+    private static void readVector(final long[] data, final int offset, final Vector3d dest) {
+        dest.set(
+                Double.longBitsToDouble(data[offset]),
+                Double.longBitsToDouble(data[offset + 1]),
+                Double.longBitsToDouble(data[offset + 2]));
+    }
+}
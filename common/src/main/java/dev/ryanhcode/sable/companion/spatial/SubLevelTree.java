@@ -0,0 +1,786 @@
+package dev.ryanhcode.sable.companion.spatial;
+
+import dev.ryanhcode.sable.companion.SubLevelAccess;
+import dev.ryanhcode.sable.companion.math.BoundingBox3dc;
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import org.jetbrains.annotations.Contract;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.Predicate;
+
+/**
+ * A dynamic bounding volume hierarchy over the global bounding boxes of sub-levels.
+ * <br>
+ * Each sub-level is stored as a leaf with a "fat" box, its {@link SubLevelAccess#boundingBox()} expanded by a margin,
+ * so small movements don't require any restructuring. Leaves are inserted using the surface area heuristic and the
+ * tree is kept balanced with rotations, so queries and updates are {@code O(log n)}.
+ * <br>
+ * Sub-levels are keyed by identity. This tree is not thread-safe.
+ *
+ * @param <S> the type of sub-level stored
+ * @since 1.5.0
+ */
+public final class SubLevelTree<S extends SubLevelAccess> {
+
+    /**
+     * The default margin leaves are expanded by on every side [m]
+     */
+    public static final double DEFAULT_MARGIN = 2.0;
+
+    private static final int NULL_NODE = -1;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final double margin;
+    private final Reference2IntOpenHashMap<S> leaves = new Reference2IntOpenHashMap<>();
+
+    // Node storage, 6 doubles of bounds per node laid out as minX, minY, minZ, maxX, maxY, maxZ
+    private double[] bounds;
+    private int[] parent; // also used as the next pointer for free nodes
+    private int[] child1;
+    private int[] child2;
+    private int[] height; // -1 for free nodes, 0 for leaves
+    private Object[] items;
+
+    private int root = NULL_NODE;
+    private int freeList = NULL_NODE;
+
+    private int[] stack = new int[64];
+    private final NodeQueue queue = new NodeQueue();
+    private boolean querying;
+
+    /**
+     * Creates a new tree with the default margin.
+     */
+    public SubLevelTree() {
+        this(DEFAULT_MARGIN);
+    }
+
+    /**
+     * Creates a new tree.
+     *
+     * @param margin the margin leaves are expanded by on every side [m]
+     */
+    public SubLevelTree(final double margin) {
+        if (margin < 0.0) {
+            throw new IllegalArgumentException("Margin must not be negative, got " + margin);
+        }
+
+        this.margin = margin;
+        this.leaves.defaultReturnValue(NULL_NODE);
+
+        this.bounds = new double[0];
+        this.parent = new int[0];
+        this.child1 = new int[0];
+        this.child2 = new int[0];
+        this.height = new int[0];
+        this.items = new Object[0];
+        this.grow(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Inserts a sub-level into this tree. If it is already present, it is updated instead.
+     *
+     * @param subLevel the sub-level to insert
+     */
+    public void insert(final S subLevel) {
+        if (this.leaves.containsKey(subLevel)) {
+            this.update(subLevel);
+            return;
+        }
+
+        final int leaf = this.allocateNode();
+        this.setFatBounds(leaf, subLevel.boundingBox());
+        this.items[leaf] = subLevel;
+        this.insertLeaf(leaf);
+        this.leaves.put(subLevel, leaf);
+    }
+
+    /**
+     * Removes a sub-level from this tree.
+     *
+     * @param subLevel the sub-level to remove
+     * @return if the sub-level was present
+     */
+    public boolean remove(final S subLevel) {
+        final int leaf = this.leaves.removeInt(subLevel);
+        if (leaf == NULL_NODE) {
+            return false;
+        }
+
+        this.removeLeaf(leaf);
+        this.freeNode(leaf);
+        return true;
+    }
+
+    /**
+     * Updates the leaf of a sub-level after its bounding box has changed, inserting it if it is not present.
+     * If the new bounding box is still inside the fat box of the leaf, nothing changes.
+     *
+     * @param subLevel the sub-level to update
+     * @return if the tree was restructured
+     */
+    public boolean update(final S subLevel) {
+        final int leaf = this.leaves.getInt(subLevel);
+        if (leaf == NULL_NODE) {
+            this.insert(subLevel);
+            return true;
+        }
+
+        final BoundingBox3dc box = subLevel.boundingBox();
+        final double[] bounds = this.bounds;
+        final int i = leaf * 6;
+        if (bounds[i] <= box.minX() && bounds[i + 1] <= box.minY() && bounds[i + 2] <= box.minZ()
+                && bounds[i + 3] >= box.maxX() && bounds[i + 4] >= box.maxY() && bounds[i + 5] >= box.maxZ()) {
+            return false;
+        }
+
+        this.removeLeaf(leaf);
+        this.setFatBounds(leaf, box);
+        this.insertLeaf(leaf);
+        return true;
+    }
+
+    /**
+     * Removes all sub-levels from this tree.
+     */
+    public void clear() {
+        this.leaves.clear();
+        this.root = NULL_NODE;
+        Arrays.fill(this.items, null);
+
+        // Re-link every node into the free list
+        final int capacity = this.height.length;
+        for (int i = 0; i < capacity; i++) {
+            this.parent[i] = i + 1 < capacity ? i + 1 : NULL_NODE;
+            this.height[i] = -1;
+        }
+        this.freeList = capacity > 0 ? 0 : NULL_NODE;
+    }
+
+    /**
+     * @return if the given sub-level is in this tree
+     */
+    @Contract(pure = true)
+    public boolean contains(final S subLevel) {
+        return this.leaves.containsKey(subLevel);
+    }
+
+    /**
+     * @return the amount of sub-levels in this tree
+     */
+    @Contract(pure = true)
+    public int size() {
+        return this.leaves.size();
+    }
+
+    /**
+     * @return the height of this tree, 0 if empty or a single leaf
+     */
+    @Contract(pure = true)
+    public int getHeight() {
+        return this.root == NULL_NODE ? 0 : this.height[this.root];
+    }
+
+    /**
+     * @return the margin leaves are expanded by on every side [m]
+     */
+    @Contract(pure = true)
+    public double getMargin() {
+        return this.margin;
+    }
+
+    /**
+     * Collects all sub-levels with a bounding box intersecting the given bounds.
+     *
+     * @param bounds the bounds to check
+     * @param dest   the collection to add the sub-levels to
+     * @return dest
+     */
+    @Contract(value = "_,_->param2", mutates = "param2")
+    public <T extends Collection<? super S>> T collectIntersecting(final BoundingBox3dc bounds, final T dest) {
+        this.forEachIntersecting(bounds.minX(), bounds.minY(), bounds.minZ(), bounds.maxX(), bounds.maxY(), bounds.maxZ(), subLevel -> {
+            dest.add(subLevel);
+            return true;
+        });
+        return dest;
+    }
+
+    /**
+     * Visits all sub-levels with a bounding box intersecting the given bounds, until the visitor returns false.
+     *
+     * @param bounds  the bounds to check
+     * @param visitor the visitor, returning true to continue or false to stop
+     * @return true if all intersecting sub-levels were visited, false if the visitor stopped early
+     */
+    public boolean forEachIntersecting(final BoundingBox3dc bounds, final Predicate<? super S> visitor) {
+        return this.forEachIntersecting(bounds.minX(), bounds.minY(), bounds.minZ(), bounds.maxX(), bounds.maxY(), bounds.maxZ(), visitor);
+    }
+
+    /**
+     * Visits all sub-levels with a bounding box intersecting the given bounds, until the visitor returns false.
+     * The visitor may query this tree again, but must not modify it.
+     *
+     * @param visitor the visitor, returning true to continue or false to stop
+     * @return true if all intersecting sub-levels were visited, false if the visitor stopped early
+     */
+    @SuppressWarnings("unchecked")
+    public boolean forEachIntersecting(final double minX, final double minY, final double minZ,
+                                       final double maxX, final double maxY, final double maxZ,
+                                       final Predicate<? super S> visitor) {
+        if (this.root == NULL_NODE) {
+            return true;
+        }
+
+        // Nested queries from inside a visitor get their own stack
+        final boolean nested = this.querying;
+        int[] stack = nested ? new int[this.stack.length] : this.stack;
+        this.querying = true;
+
+        try {
+            final double[] bounds = this.bounds;
+            int top = 0;
+            stack[top++] = this.root;
+
+            while (top > 0) {
+                final int node = stack[--top];
+                final int i = node * 6;
+
+                if (bounds[i + 3] < minX || bounds[i + 4] < minY || bounds[i + 5] < minZ
+                        || bounds[i] > maxX || bounds[i + 1] > maxY || bounds[i + 2] > maxZ) {
+                    continue;
+                }
+
+                if (this.child1[node] == NULL_NODE) {
+                    final S subLevel = (S) this.items[node];
+
+                    // Leaves are fat, so check against the actual bounds before reporting
+                    if (subLevel.boundingBox().intersects(minX, minY, minZ, maxX, maxY, maxZ) && !visitor.test(subLevel)) {
+                        return false;
+                    }
+                } else {
+                    if (top + 2 > stack.length) {
+                        stack = Arrays.copyOf(stack, stack.length * 2);
+                        if (!nested) {
+                            this.stack = stack;
+                        }
+                    }
+
+                    stack[top++] = this.child1[node];
+                    stack[top++] = this.child2[node];
+                }
+            }
+
+            return true;
+        } finally {
+            this.querying = nested;
+        }
+    }
+
+    /**
+     * Finds the sub-levels with a bounding box closest to a point, nearest first.
+     * <br>
+     * Nodes are visited best-first in order of the distance to their bounds, so only the nodes closer than the k-th
+     * nearest sub-level are ever opened. This may be called from inside a visitor of this tree, but the tree must not
+     * be modified during the query.
+     *
+     * @param x           the global X position of the point
+     * @param y           the global Y position of the point
+     * @param z           the global Z position of the point
+     * @param k           the maximum amount of sub-levels to find
+     * @param maxDistance the maximum distance from the point to the bounding box of a sub-level [m]
+     * @param dest        the collection to add the sub-levels to, in order of increasing distance
+     * @return dest
+     */
+    @SuppressWarnings("unchecked")
+    @Contract(value = "_,_,_,_,_,_->param6", mutates = "param6")
+    public <T extends Collection<? super S>> T findNearest(final double x, final double y, final double z, final int k, final double maxDistance, final T dest) {
+        if (this.root == NULL_NODE || k <= 0 || maxDistance < 0.0) {
+            return dest;
+        }
+
+        final double maxDistanceSquared = maxDistance * maxDistance;
+        final boolean nested = this.querying;
+        final NodeQueue queue = nested ? new NodeQueue() : this.queue;
+        this.querying = true;
+
+        try {
+            queue.clear();
+            queue.push(this.nodeDistanceSquared(this.root, x, y, z), this.root);
+
+            int found = 0;
+            while (!queue.isEmpty()) {
+                final double distanceSquared = queue.peekKey();
+                final int value = queue.pop();
+
+                if (distanceSquared > maxDistanceSquared) {
+                    break;
+                }
+
+                // Leaves are re-queued with their exact distance as the complement of their index
+                if (value < 0) {
+                    dest.add((S) this.items[~value]);
+                    if (++found >= k) {
+                        break;
+                    }
+                    continue;
+                }
+
+                if (this.child1[value] == NULL_NODE) {
+                    final S subLevel = (S) this.items[value];
+                    final double exact = subLevel.boundingBox().distanceSquared(x, y, z);
+                    if (exact <= maxDistanceSquared) {
+                        queue.push(exact, ~value);
+                    }
+                } else {
+                    final int c1 = this.child1[value];
+                    final int c2 = this.child2[value];
+                    final double d1 = this.nodeDistanceSquared(c1, x, y, z);
+                    final double d2 = this.nodeDistanceSquared(c2, x, y, z);
+                    if (d1 <= maxDistanceSquared) {
+                        queue.push(d1, c1);
+                    }
+                    if (d2 <= maxDistanceSquared) {
+                        queue.push(d2, c2);
+                    }
+                }
+            }
+
+            return dest;
+        } finally {
+            this.querying = nested;
+        }
+    }
+
+    /**
+     * Checks the structure of this tree, for tests.
+     *
+     * @throws IllegalStateException if a parent link, height, node bounds or leaf entry is inconsistent
+     */
+    void validate() {
+        if (this.root != NULL_NODE && this.parent[this.root] != NULL_NODE) {
+            throw new IllegalStateException("Root " + this.root + " has a parent");
+        }
+
+        final int leafCount = this.root == NULL_NODE ? 0 : this.validate(this.root);
+        if (leafCount != this.leaves.size()) {
+            throw new IllegalStateException("Tree has " + leafCount + " leaves, expected " + this.leaves.size());
+        }
+
+        for (final Reference2IntMap.Entry<S> entry : this.leaves.reference2IntEntrySet()) {
+            final int leaf = entry.getIntValue();
+            if (this.items[leaf] != entry.getKey() || this.child1[leaf] != NULL_NODE) {
+                throw new IllegalStateException("Leaf " + leaf + " does not hold " + entry.getKey());
+            }
+        }
+
+        int freeCount = 0;
+        for (int node = this.freeList; node != NULL_NODE; node = this.parent[node]) {
+            if (this.height[node] != -1) {
+                throw new IllegalStateException("Free node " + node + " is in use");
+            }
+            freeCount++;
+        }
+
+        final int nodeCount = this.leaves.isEmpty() ? 0 : 2 * this.leaves.size() - 1;
+        if (nodeCount + freeCount != this.height.length) {
+            throw new IllegalStateException("Lost " + (this.height.length - nodeCount - freeCount) + " nodes");
+        }
+    }
+
+    private int validate(final int node) {
+        final int c1 = this.child1[node];
+        final int c2 = this.child2[node];
+        if (c1 == NULL_NODE) {
+            if (c2 != NULL_NODE || this.height[node] != 0) {
+                throw new IllegalStateException("Leaf " + node + " has a child or a height");
+            }
+            return 1;
+        }
+
+        if (this.parent[c1] != node || this.parent[c2] != node) {
+            throw new IllegalStateException("Children of " + node + " have a different parent");
+        }
+        if (this.height[node] != 1 + Math.max(this.height[c1], this.height[c2])) {
+            throw new IllegalStateException("Height of " + node + " is " + this.height[node]);
+        }
+
+        final double[] bounds = this.bounds;
+        final int i = node * 6, i1 = c1 * 6, i2 = c2 * 6;
+        for (int axis = 0; axis < 3; axis++) {
+            if (bounds[i + axis] != Math.min(bounds[i1 + axis], bounds[i2 + axis])
+                    || bounds[i + 3 + axis] != Math.max(bounds[i1 + 3 + axis], bounds[i2 + 3 + axis])) {
+                throw new IllegalStateException("Bounds of " + node + " are not the union of its children");
+            }
+        }
+
+        return this.validate(c1) + this.validate(c2);
+    }
+
+    private double nodeDistanceSquared(final int node, final double x, final double y, final double z) {
+        final double[] bounds = this.bounds;
+        final int i = node * 6;
+        final double dx = Math.max(Math.max(bounds[i] - x, x - bounds[i + 3]), 0.0);
+        final double dy = Math.max(Math.max(bounds[i + 1] - y, y - bounds[i + 4]), 0.0);
+        final double dz = Math.max(Math.max(bounds[i + 2] - z, z - bounds[i + 5]), 0.0);
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private void setFatBounds(final int node, final BoundingBox3dc box) {
+        final double[] bounds = this.bounds;
+        final double margin = this.margin;
+        final int i = node * 6;
+        bounds[i] = box.minX() - margin;
+        bounds[i + 1] = box.minY() - margin;
+        bounds[i + 2] = box.minZ() - margin;
+        bounds[i + 3] = box.maxX() + margin;
+        bounds[i + 4] = box.maxY() + margin;
+        bounds[i + 5] = box.maxZ() + margin;
+    }
+
+    private void setUnion(final int node, final int a, final int b) {
+        final double[] bounds = this.bounds;
+        final int i = node * 6, ia = a * 6, ib = b * 6;
+        bounds[i] = Math.min(bounds[ia], bounds[ib]);
+        bounds[i + 1] = Math.min(bounds[ia + 1], bounds[ib + 1]);
+        bounds[i + 2] = Math.min(bounds[ia + 2], bounds[ib + 2]);
+        bounds[i + 3] = Math.max(bounds[ia + 3], bounds[ib + 3]);
+        bounds[i + 4] = Math.max(bounds[ia + 4], bounds[ib + 4]);
+        bounds[i + 5] = Math.max(bounds[ia + 5], bounds[ib + 5]);
+    }
+
+    private double area(final int node) {
+        final double[] bounds = this.bounds;
+        final int i = node * 6;
+        return surfaceArea(bounds[i + 3] - bounds[i], bounds[i + 4] - bounds[i + 1], bounds[i + 5] - bounds[i + 2]);
+    }
+
+    private double unionArea(final int a, final int b) {
+        final double[] bounds = this.bounds;
+        final int ia = a * 6, ib = b * 6;
+        return surfaceArea(
+                Math.max(bounds[ia + 3], bounds[ib + 3]) - Math.min(bounds[ia], bounds[ib]),
+                Math.max(bounds[ia + 4], bounds[ib + 4]) - Math.min(bounds[ia + 1], bounds[ib + 1]),
+                Math.max(bounds[ia + 5], bounds[ib + 5]) - Math.min(bounds[ia + 2], bounds[ib + 2]));
+    }
+
+    private static double surfaceArea(final double x, final double y, final double z) {
+        return 2.0 * (x * y + y * z + z * x);
+    }
+
+    private void insertLeaf(final int leaf) {
+        if (this.root == NULL_NODE) {
+            this.root = leaf;
+            this.parent[leaf] = NULL_NODE;
+            return;
+        }
+
+        // Find the best sibling using the surface area heuristic
+        int index = this.root;
+        while (this.child1[index] != NULL_NODE) {
+            final int c1 = this.child1[index];
+            final int c2 = this.child2[index];
+
+            final double area = this.area(index);
+            final double combinedArea = this.unionArea(index, leaf);
+
+            // Cost of creating a new parent for this node and the new leaf
+            final double cost = 2.0 * combinedArea;
+
+            // Minimum cost of pushing the leaf further down the tree
+            final double inheritanceCost = 2.0 * (combinedArea - area);
+            final double cost1 = this.descendCost(c1, leaf) + inheritanceCost;
+            final double cost2 = this.descendCost(c2, leaf) + inheritanceCost;
+
+            if (cost < cost1 && cost < cost2) {
+                break;
+            }
+
+            index = cost1 < cost2 ? c1 : c2;
+        }
+
+        final int sibling = index;
+
+        // Create a new parent for the sibling and the leaf
+        final int oldParent = this.parent[sibling];
+        final int newParent = this.allocateNode();
+        this.parent[newParent] = oldParent;
+        this.setUnion(newParent, leaf, sibling);
+        this.height[newParent] = this.height[sibling] + 1;
+
+        if (oldParent != NULL_NODE) {
+            if (this.child1[oldParent] == sibling) {
+                this.child1[oldParent] = newParent;
+            } else {
+                this.child2[oldParent] = newParent;
+            }
+        } else {
+            this.root = newParent;
+        }
+
+        this.child1[newParent] = sibling;
+        this.child2[newParent] = leaf;
+        this.parent[sibling] = newParent;
+        this.parent[leaf] = newParent;
+
+        this.refit(this.parent[leaf]);
+    }
+
+    private double descendCost(final int child, final int leaf) {
+        final double unionArea = this.unionArea(child, leaf);
+        return this.child1[child] == NULL_NODE ? unionArea : unionArea - this.area(child);
+    }
+
+    private void removeLeaf(final int leaf) {
+        if (leaf == this.root) {
+            this.root = NULL_NODE;
+            return;
+        }
+
+        final int parent = this.parent[leaf];
+        final int grandParent = this.parent[parent];
+        final int sibling = this.child1[parent] == leaf ? this.child2[parent] : this.child1[parent];
+
+        if (grandParent != NULL_NODE) {
+            // Connect the sibling to the grandparent, destroying the parent
+            if (this.child1[grandParent] == parent) {
+                this.child1[grandParent] = sibling;
+            } else {
+                this.child2[grandParent] = sibling;
+            }
+            this.parent[sibling] = grandParent;
+            this.freeNode(parent);
+
+            this.refit(grandParent);
+        } else {
+            this.root = sibling;
+            this.parent[sibling] = NULL_NODE;
+            this.freeNode(parent);
+        }
+    }
+
+    /**
+     * Walks up from the given node, re-balancing and recomputing the bounds and heights of every ancestor
+     */
+    private void refit(int index) {
+        while (index != NULL_NODE) {
+            index = this.balance(index);
+
+            final int c1 = this.child1[index];
+            final int c2 = this.child2[index];
+            this.height[index] = 1 + Math.max(this.height[c1], this.height[c2]);
+            this.setUnion(index, c1, c2);
+
+            index = this.parent[index];
+        }
+    }
+
+    /**
+     * Performs a left or right rotation if node A is imbalanced.
+     *
+     * @return the new root of the subtree
+     */
+    private int balance(final int iA) {
+        if (this.child1[iA] == NULL_NODE || this.height[iA] < 2) {
+            return iA;
+        }
+
+        final int iB = this.child1[iA];
+        final int iC = this.child2[iA];
+        final int balance = this.height[iC] - this.height[iB];
+
+        // Rotate C up
+        if (balance > 1) {
+            final int iF = this.child1[iC];
+            final int iG = this.child2[iC];
+
+            this.child1[iC] = iA;
+            this.parent[iC] = this.parent[iA];
+            this.parent[iA] = iC;
+            this.replaceChild(this.parent[iC], iA, iC);
+
+            if (this.height[iF] > this.height[iG]) {
+                this.child2[iC] = iF;
+                this.child2[iA] = iG;
+                this.parent[iG] = iA;
+                this.setUnion(iA, iB, iG);
+                this.setUnion(iC, iA, iF);
+                this.height[iA] = 1 + Math.max(this.height[iB], this.height[iG]);
+                this.height[iC] = 1 + Math.max(this.height[iA], this.height[iF]);
+            } else {
+                this.child2[iC] = iG;
+                this.child2[iA] = iF;
+                this.parent[iF] = iA;
+                this.setUnion(iA, iB, iF);
+                this.setUnion(iC, iA, iG);
+                this.height[iA] = 1 + Math.max(this.height[iB], this.height[iF]);
+                this.height[iC] = 1 + Math.max(this.height[iA], this.height[iG]);
+            }
+
+            return iC;
+        }
+
+        // Rotate B up
+        if (balance < -1) {
+            final int iD = this.child1[iB];
+            final int iE = this.child2[iB];
+
+            this.child1[iB] = iA;
+            this.parent[iB] = this.parent[iA];
+            this.parent[iA] = iB;
+            this.replaceChild(this.parent[iB], iA, iB);
+
+            if (this.height[iD] > this.height[iE]) {
+                this.child2[iB] = iD;
+                this.child1[iA] = iE;
+                this.parent[iE] = iA;
+                this.setUnion(iA, iC, iE);
+                this.setUnion(iB, iA, iD);
+                this.height[iA] = 1 + Math.max(this.height[iC], this.height[iE]);
+                this.height[iB] = 1 + Math.max(this.height[iA], this.height[iD]);
+            } else {
+                this.child2[iB] = iE;
+                this.child1[iA] = iD;
+                this.parent[iD] = iA;
+                this.setUnion(iA, iC, iD);
+                this.setUnion(iB, iA, iE);
+                this.height[iA] = 1 + Math.max(this.height[iC], this.height[iD]);
+                this.height[iB] = 1 + Math.max(this.height[iA], this.height[iE]);
+            }
+
+            return iB;
+        }
+
+        return iA;
+    }
+
+    private void replaceChild(final int parent, final int oldChild, final int newChild) {
+        if (parent == NULL_NODE) {
+            this.root = newChild;
+        } else if (this.child1[parent] == oldChild) {
+            this.child1[parent] = newChild;
+        } else {
+            this.child2[parent] = newChild;
+        }
+    }
+
+    private int allocateNode() {
+        if (this.freeList == NULL_NODE) {
+            this.grow(this.height.length * 2);
+        }
+
+        final int node = this.freeList;
+        this.freeList = this.parent[node];
+        this.parent[node] = NULL_NODE;
+        this.child1[node] = NULL_NODE;
+        this.child2[node] = NULL_NODE;
+        this.height[node] = 0;
+        return node;
+    }
+
+    private void freeNode(final int node) {
+        this.parent[node] = this.freeList;
+        this.height[node] = -1;
+        this.items[node] = null;
+        this.freeList = node;
+    }
+
+    private void grow(final int capacity) {
+        final int oldCapacity = this.height.length;
+
+        this.bounds = Arrays.copyOf(this.bounds, capacity * 6);
+        this.parent = Arrays.copyOf(this.parent, capacity);
+        this.child1 = Arrays.copyOf(this.child1, capacity);
+        this.child2 = Arrays.copyOf(this.child2, capacity);
+        this.height = Arrays.copyOf(this.height, capacity);
+        this.items = Arrays.copyOf(this.items, capacity);
+
+        // Link the new nodes into the free list
+        for (int i = oldCapacity; i < capacity; i++) {
+            this.parent[i] = i + 1 < capacity ? i + 1 : this.freeList;
+            this.height[i] = -1;
+        }
+        this.freeList = oldCapacity;
+    }
+
+    /**
+     * A binary min-heap of node indices keyed by distance, re-used across queries
+     */
+    private static final class NodeQueue {
+
+        private double[] keys = new double[64];
+        private int[] values = new int[64];
+        private int size;
+
+        void clear() {
+            this.size = 0;
+        }
+
+        boolean isEmpty() {
+            return this.size == 0;
+        }
+
+        double peekKey() {
+            return this.keys[0];
+        }
+
+        void push(final double key, final int value) {
+            if (this.size == this.keys.length) {
+                this.keys = Arrays.copyOf(this.keys, this.size * 2);
+                this.values = Arrays.copyOf(this.values, this.size * 2);
+            }
+
+            final double[] keys = this.keys;
+            final int[] values = this.values;
+            int index = this.size++;
+            while (index > 0) {
+                final int parent = (index - 1) >>> 1;
+                if (keys[parent] <= key) {
+                    break;
+                }
+
+                keys[index] = keys[parent];
+                values[index] = values[parent];
+                index = parent;
+            }
+
+            keys[index] = key;
+            values[index] = value;
+        }
+
+        int pop() {
+            final double[] keys = this.keys;
+            final int[] values = this.values;
+            final int result = values[0];
+            final int size = --this.size;
+            if (size == 0) {
+                return result;
+            }
+
+            final double key = keys[size];
+            final int value = values[size];
+            int index = 0;
+            while (true) {
+                int child = 2 * index + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && keys[child + 1] < keys[child]) {
+                    child++;
+                }
+                if (key <= keys[child]) {
+                    break;
+                }
+
+                keys[index] = keys[child];
+                values[index] = values[child];
+                index = child;
+            }
+
+            keys[index] = key;
+            values[index] = value;
+            return result;
+        }
+    }
+}
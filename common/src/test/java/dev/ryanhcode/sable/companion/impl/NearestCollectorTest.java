@@ -0,0 +1,126 @@
+package dev.ryanhcode.sable.companion.impl;
+
+import dev.ryanhcode.sable.companion.SubLevelAccess;
+import dev.ryanhcode.sable.companion.math.BoundingBox3d;
+import dev.ryanhcode.sable.companion.math.BoundingBox3dc;
+import dev.ryanhcode.sable.companion.math.Pose3d;
+import dev.ryanhcode.sable.companion.math.Pose3dc;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks {@link SableCompanionUtil.NearestCollector} against sorting every visited sub-level.
+ */
+class NearestCollectorTest {
+
+    private static final double X = 50.0, Y = 50.0, Z = 50.0;
+
+    @ParameterizedTest
+    @ValueSource(longs = {1L, 2L, 3L, 4L})
+    void keepsTheNearestInOrder(final long seed) {
+        final Random random = new Random(seed);
+
+        for (int run = 0; run < 2000; run++) {
+            final List<TestSubLevel> subLevels = randomSubLevels(random, random.nextInt(60));
+            final int k = run % 7 == 0 ? Integer.MAX_VALUE : 1 + random.nextInt(40);
+            final double maxDistance = random.nextDouble() * 120.0;
+
+            // Whatever dest already holds stays in front of the collected sub-levels
+            final List<SubLevelAccess> dest = new ArrayList<>();
+            final TestSubLevel existing = new TestSubLevel(new BoundingBox3d());
+            dest.add(existing);
+
+            final SableCompanionUtil.NearestCollector collector = new SableCompanionUtil.NearestCollector(X, Y, Z, k, maxDistance, dest);
+            for (final TestSubLevel subLevel : subLevels) {
+                assertTrue(collector.visit(subLevel));
+            }
+
+            assertSame(existing, dest.getFirst());
+            assertEquals(bruteForce(subLevels, k, maxDistance), distances(dest.subList(1, dest.size())));
+        }
+    }
+
+    @Test
+    void stopsRightAwayWithoutRoom() {
+        final List<SubLevelAccess> dest = new ArrayList<>();
+        final SableCompanionUtil.NearestCollector collector = new SableCompanionUtil.NearestCollector(X, Y, Z, 0, 100.0, dest);
+
+        assertFalse(collector.visit(new TestSubLevel(new BoundingBox3d(X, Y, Z, X + 1.0, Y + 1.0, Z + 1.0))));
+        assertTrue(dest.isEmpty());
+    }
+
+    private static List<TestSubLevel> randomSubLevels(final Random random, final int count) {
+        final List<TestSubLevel> subLevels = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            // Integer corners, so equal distances are common
+            final double x = random.nextInt(100), y = random.nextInt(100), z = random.nextInt(100);
+            subLevels.add(new TestSubLevel(new BoundingBox3d(x, y, z, x + random.nextInt(5), y + random.nextInt(5), z + random.nextInt(5))));
+        }
+        return subLevels;
+    }
+
+    /**
+     * Sub-levels at equal distances may be kept in any order, so the results are compared by distance.
+     */
+    private static List<Double> bruteForce(final List<TestSubLevel> subLevels, final int k, final double maxDistance) {
+        return subLevels.stream()
+                .map(subLevel -> subLevel.boundingBox().distanceSquared(X, Y, Z))
+                .filter(distance -> distance <= maxDistance * maxDistance)
+                .sorted(Comparator.naturalOrder())
+                .limit(k)
+                .toList();
+    }
+
+    private static List<Double> distances(final List<SubLevelAccess> subLevels) {
+        return subLevels.stream().map(subLevel -> subLevel.boundingBox().distanceSquared(X, Y, Z)).toList();
+    }
+
+    /**
+     * A sub-level that is only a bounding box
+     */
+    private static final class TestSubLevel implements SubLevelAccess {
+
+        private final UUID uniqueId = UUID.randomUUID();
+        private final Pose3d pose = new Pose3d();
+        private final BoundingBox3d bounds;
+
+        private TestSubLevel(final BoundingBox3d bounds) {
+            this.bounds = bounds;
+        }
+
+        @Override
+        public Pose3dc logicalPose() {
+            return this.pose;
+        }
+
+        @Override
+        public Pose3dc lastPose() {
+            return this.pose;
+        }
+
+        @Override
+        public BoundingBox3dc boundingBox() {
+            return this.bounds;
+        }
+
+        @Override
+        public UUID getUniqueId() {
+            return this.uniqueId;
+        }
+
+        @Override
+        public @Nullable String getName() {
+            return null;
+        }
+    }
+}
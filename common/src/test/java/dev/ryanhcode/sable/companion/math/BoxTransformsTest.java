@@ -0,0 +1,144 @@
+package dev.ryanhcode.sable.companion.math;
+
+import org.joml.Matrix4d;
+import org.joml.Matrix4dc;
+import org.joml.Quaterniond;
+import org.joml.Vector3d;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the center/half-extent box transforms of {@link BoxTransforms} against transforming all 8 corners.
+ */
+class BoxTransformsTest {
+
+    private static final double EPSILON = 1.0E-9;
+    private static final int BOXES = 64;
+
+    @ParameterizedTest
+    @ValueSource(longs = {1L, 2L, 3L, 4L, 5L})
+    void transformMatchesCorners(final long seed) {
+        final Random random = new Random(seed);
+        for (final Pose3d pose : poses(random)) {
+            final CompiledPose3d compiled = new CompiledPose3d(pose);
+            final Matrix4d matrix = pose.bakeIntoMatrix(new Matrix4d());
+
+            for (int i = 0; i < BOXES; i++) {
+                final BoundingBox3d box = randomBox(random);
+                final BoundingBox3d expected = corners(box, matrix);
+
+                assertBoundsEqual(expected, BoxTransforms.transform(box, pose, false, new BoundingBox3d()));
+                assertBoundsEqual(expected, BoxTransforms.transform(box, matrix, new BoundingBox3d()));
+                assertBoundsEqual(expected, box.transform(pose, new BoundingBox3d()));
+                assertBoundsEqual(expected, box.transform(compiled, new BoundingBox3d()));
+                assertBoundsEqual(expected, box.transform(matrix, new BoundingBox3d()));
+                assertBoundsEqual(expected, box.transform(pose, new Matrix4d(), new BoundingBox3d()));
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {1L, 2L, 3L, 4L, 5L})
+    void transformInverseMatchesInvertedCorners(final long seed) {
+        final Random random = new Random(seed);
+        for (final Pose3d pose : poses(random)) {
+            final CompiledPose3d compiled = new CompiledPose3d(pose);
+            final Matrix4d inverse = pose.bakeIntoMatrix(new Matrix4d()).invertAffine();
+
+            for (int i = 0; i < BOXES; i++) {
+                final BoundingBox3d box = randomBox(random);
+                final BoundingBox3d expected = corners(box, inverse);
+
+                assertBoundsEqual(expected, BoxTransforms.transform(box, pose, true, new BoundingBox3d()));
+                assertBoundsEqual(expected, box.transformInverse(pose, new BoundingBox3d()));
+                assertBoundsEqual(expected, box.transformInverse(compiled, new BoundingBox3d()));
+                assertBoundsEqual(expected, box.transformInverse(inverse, new BoundingBox3d()));
+                assertBoundsEqual(expected, box.transformInverse(pose, new Matrix4d(), new BoundingBox3d()));
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {1L, 2L, 3L})
+    void transformIntoSourceBox(final long seed) {
+        final Random random = new Random(seed);
+        final Pose3d pose = randomPose(random, new Vector3d(-1.5, 0.5, 2.25));
+        final BoundingBox3d box = randomBox(random);
+        final BoundingBox3d expected = corners(box, pose.bakeIntoMatrix(new Matrix4d()));
+        final BoundingBox3d expectedInverse = corners(box, pose.bakeIntoMatrix(new Matrix4d()).invertAffine());
+
+        final BoundingBox3d inPlace = new BoundingBox3d(box);
+        assertSame(inPlace, inPlace.transform(pose, inPlace));
+        assertBoundsEqual(expected, inPlace);
+
+        inPlace.set(box);
+        assertSame(inPlace, inPlace.transformInverse(pose, inPlace));
+        assertBoundsEqual(expectedInverse, inPlace);
+    }
+
+    /**
+     * Poses with uniform, non-uniform and negative scales
+     */
+    private static Pose3d[] poses(final Random random) {
+        return new Pose3d[]{
+                randomPose(random, new Vector3d(1.0)),
+                randomPose(random, new Vector3d(0.25 + random.nextDouble() * 4.0)),
+                randomPose(random, new Vector3d(0.5, 3.0, 1.25)),
+                randomPose(random, new Vector3d(-1.0, 1.0, 1.0)),
+                randomPose(random, new Vector3d(-0.75, 2.5, -1.5)),
+                randomPose(random, new Vector3d(-2.0)),
+        };
+    }
+
+    private static Pose3d randomPose(final Random random, final Vector3d scale) {
+        return new Pose3d(
+                new Vector3d(random.nextDouble() - 0.5, random.nextDouble() - 0.5, random.nextDouble() - 0.5).mul(2000.0),
+                new Quaterniond().rotateXYZ(random.nextDouble() * 6.0, random.nextDouble() * 6.0, random.nextDouble() * 6.0),
+                new Vector3d(random.nextDouble() - 0.5, random.nextDouble() - 0.5, random.nextDouble() - 0.5).mul(500.0),
+                scale);
+    }
+
+    private static BoundingBox3d randomBox(final Random random) {
+        final double x = (random.nextDouble() - 0.5) * 1000.0;
+        final double y = (random.nextDouble() - 0.5) * 1000.0;
+        final double z = (random.nextDouble() - 0.5) * 1000.0;
+        return new BoundingBox3d(x, y, z, x + random.nextDouble() * 40.0, y + random.nextDouble() * 20.0, z + random.nextDouble() * 40.0);
+    }
+
+    /**
+     * The bounds of all 8 transformed corners, as the transforms were computed before the center/half-extent method
+     */
+    private static BoundingBox3d corners(final BoundingBox3dc box, final Matrix4dc matrix) {
+        final BoundingBox3d dest = new BoundingBox3d().setUnchecked(
+                Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY,
+                Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY);
+        final Vector3d corner = new Vector3d();
+
+        for (int i = 0; i <= 0b111; i++) {
+            corner.set(
+                    (i & 0b001) == 0 ? box.minX() : box.maxX(),
+                    (i & 0b010) == 0 ? box.minY() : box.maxY(),
+                    (i & 0b100) == 0 ? box.minZ() : box.maxZ());
+            dest.expandTo(matrix.transformPosition(corner));
+        }
+
+        return dest;
+    }
+
+    private static void assertBoundsEqual(final BoundingBox3dc expected, final BoundingBox3dc actual) {
+        final double delta = EPSILON * Math.max(1.0, Math.max(
+                Math.max(Math.abs(expected.minX()), Math.abs(expected.maxX())),
+                Math.max(Math.max(Math.abs(expected.minY()), Math.abs(expected.maxY())), Math.max(Math.abs(expected.minZ()), Math.abs(expected.maxZ())))));
+
+        assertEquals(expected.minX(), actual.minX(), delta, () -> "Expected " + expected + " but was " + actual);
+        assertEquals(expected.minY(), actual.minY(), delta, () -> "Expected " + expected + " but was " + actual);
+        assertEquals(expected.minZ(), actual.minZ(), delta, () -> "Expected " + expected + " but was " + actual);
+        assertEquals(expected.maxX(), actual.maxX(), delta, () -> "Expected " + expected + " but was " + actual);
+        assertEquals(expected.maxY(), actual.maxY(), delta, () -> "Expected " + expected + " but was " + actual);
+        assertEquals(expected.maxZ(), actual.maxZ(), delta, () -> "Expected " + expected + " but was " + actual);
+    }
+}
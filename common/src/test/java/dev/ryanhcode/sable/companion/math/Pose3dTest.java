@@ -0,0 +1,195 @@
+package dev.ryanhcode.sable.companion.math;
+
+import org.joml.Matrix4d;
+import org.joml.Quaterniond;
+import org.joml.Vector3d;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the pose algebra and bulk transforms of {@link Pose3dc} against products and inverses of the baked matrices.
+ */
+class Pose3dTest {
+
+    private static final double EPSILON = 1.0E-9;
+
+    @ParameterizedTest
+    @ValueSource(longs = {1L, 2L, 3L, 4L, 5L})
+    void mulMatchesMatrixProduct(final long seed) {
+        final Random random = new Random(seed);
+        final Pose3d a = randomPose(random, true);
+        final Pose3d b = randomPose(random, false);
+        final Matrix4d expected = a.bakeIntoMatrix(new Matrix4d()).mul(b.bakeIntoMatrix(new Matrix4d()));
+
+        assertMatrixEquals(expected, a.mul(b, new Pose3d()));
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {1L, 2L, 3L, 4L, 5L})
+    void mulIntoEitherOperand(final long seed) {
+        final Random random = new Random(seed);
+        final Pose3d a = randomPose(random, true);
+        final Pose3d b = randomPose(random, false);
+        final Matrix4d expected = a.bakeIntoMatrix(new Matrix4d()).mul(b.bakeIntoMatrix(new Matrix4d()));
+
+        final Pose3d intoThis = new Pose3d(a);
+        assertSame(intoThis, intoThis.mul(b, intoThis));
+        assertMatrixEquals(expected, intoThis);
+
+        final Pose3d intoOther = new Pose3d(b);
+        assertSame(intoOther, a.mul(intoOther, intoOther));
+        assertMatrixEquals(expected, intoOther);
+
+        assertMatrixEquals(expected, new Pose3d(a).mul(b));
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {1L, 2L, 3L, 4L, 5L})
+    void invertMatchesInverseMatrix(final long seed) {
+        final Pose3d pose = randomPose(new Random(seed), true);
+        final Matrix4d expected = pose.bakeIntoMatrix(new Matrix4d()).invertAffine();
+
+        assertMatrixEquals(expected, pose.invert(new Pose3d()));
+        assertMatrixEquals(expected, pose.bakeInverseIntoMatrix(new Matrix4d()));
+
+        final Pose3d intoThis = new Pose3d(pose);
+        assertSame(intoThis, intoThis.invert(intoThis));
+        assertMatrixEquals(expected, intoThis);
+        assertMatrixEquals(expected, new Pose3d(pose).invert());
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {1L, 2L, 3L, 4L, 5L})
+    void bakeInverseMatchesInverseMatrix(final long seed) {
+        final Random random = new Random(seed);
+        for (final Pose3d pose : new Pose3d[]{randomPose(random, false), mirrored(randomPose(random, false), -1.0, 1.0, -1.0)}) {
+            assertMatrixEquals(pose.bakeIntoMatrix(new Matrix4d()).invertAffine(), pose.bakeInverseIntoMatrix(new Matrix4d()));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {1L, 2L, 3L, 4L, 5L})
+    void bulkTransformsMatchMatrices(final long seed) {
+        final Random random = new Random(seed);
+        for (final Pose3d pose : new Pose3d[]{randomPose(random, true), randomPose(random, false), mirrored(randomPose(random, false), 1.0, -1.0, 1.0)}) {
+            final Matrix4d matrix = pose.bakeIntoMatrix(new Matrix4d());
+            final Matrix4d inverse = new Matrix4d(matrix).invertAffine();
+
+            assertBulkTransform(random, matrix, true, pose::transformPositions, pose::transformPositions);
+            assertBulkTransform(random, inverse, true, pose::transformPositionsInverse, pose::transformPositionsInverse);
+            assertBulkTransform(random, matrix, false, pose::transformNormals, pose::transformNormals);
+            assertBulkTransform(random, inverse, false, pose::transformNormalsInverse, pose::transformNormalsInverse);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {1L, 2L, 3L, 4L, 5L})
+    void relativeToMatchesInverseProduct(final long seed) {
+        final Random random = new Random(seed);
+        final Pose3d pose = randomPose(random, false);
+        final Pose3d other = randomPose(random, true);
+        final Matrix4d expected = other.bakeIntoMatrix(new Matrix4d()).invertAffine().mul(pose.bakeIntoMatrix(new Matrix4d()));
+
+        assertMatrixEquals(expected, pose.relativeTo(other, new Pose3d()));
+        assertMatrixEquals(expected, other.invert(new Pose3d()).mul(pose));
+
+        final Pose3d intoThis = new Pose3d(pose);
+        assertSame(intoThis, intoThis.relativeTo(other, intoThis));
+        assertMatrixEquals(expected, intoThis);
+
+        final Pose3d intoOther = new Pose3d(other);
+        assertSame(intoOther, pose.relativeTo(intoOther, intoOther));
+        assertMatrixEquals(expected, intoOther);
+
+        assertMatrixEquals(expected, new Pose3d(pose).relativeTo(other));
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {1L, 2L, 3L, 4L, 5L})
+    void relativeToUndoesMul(final long seed) {
+        final Random random = new Random(seed);
+        final Pose3d pose = randomPose(random, true);
+        final Pose3d local = randomPose(random, true);
+
+        final Pose3d global = pose.mul(local, new Pose3d());
+        assertMatrixEquals(local.bakeIntoMatrix(new Matrix4d()), global.relativeTo(pose, new Pose3d()));
+    }
+
+    /**
+     * @param uniform if the scale should be uniform, which the operations need to be exact for the pose on the left
+     */
+    private static Pose3d randomPose(final Random random, final boolean uniform) {
+        final double scale = 0.25 + random.nextDouble() * 4.0;
+        return new Pose3d(
+                new Vector3d(random.nextDouble() - 0.5, random.nextDouble() - 0.5, random.nextDouble() - 0.5).mul(2000.0),
+                new Quaterniond().rotateXYZ(random.nextDouble() * 6.0, random.nextDouble() * 6.0, random.nextDouble() * 6.0),
+                new Vector3d(random.nextDouble() - 0.5, random.nextDouble() - 0.5, random.nextDouble() - 0.5).mul(500.0),
+                uniform ? new Vector3d(scale) : new Vector3d(scale, 0.25 + random.nextDouble() * 4.0, 0.25 + random.nextDouble() * 4.0));
+    }
+
+    private static Pose3d mirrored(final Pose3d pose, final double x, final double y, final double z) {
+        pose.scale().mul(x, y, z);
+        return pose;
+    }
+
+    /**
+     * Transforms a run in the middle of separate and interleaved arrays, and checks it against the matrix point by point
+     */
+    private static void assertBulkTransform(final Random random, final Matrix4d matrix, final boolean translate, final SeparateTransform separate, final InterleavedTransform interleaved) {
+        final int offset = 3, count = 21, length = offset + count + 2;
+        final double[] xs = new double[length], ys = new double[length], zs = new double[length];
+        final double[] xyz = new double[length * 3];
+        for (int i = 0; i < length; i++) {
+            xs[i] = xyz[i * 3] = (random.nextDouble() - 0.5) * 1000.0;
+            ys[i] = xyz[i * 3 + 1] = (random.nextDouble() - 0.5) * 1000.0;
+            zs[i] = xyz[i * 3 + 2] = (random.nextDouble() - 0.5) * 1000.0;
+        }
+        final double[] original = xyz.clone();
+
+        separate.transform(xs, ys, zs, offset, count);
+        interleaved.transform(xyz, offset * 3, count);
+
+        final Vector3d expected = new Vector3d();
+        for (int i = 0; i < length; i++) {
+            expected.set(original[i * 3], original[i * 3 + 1], original[i * 3 + 2]);
+            if (i >= offset && i < offset + count) {
+                if (translate) {
+                    matrix.transformPosition(expected);
+                } else {
+                    matrix.transformDirection(expected);
+                }
+            }
+
+            final double delta = EPSILON * Math.max(1.0, expected.length());
+            assertEquals(expected.x, xs[i], delta, "x at " + i);
+            assertEquals(expected.y, ys[i], delta, "y at " + i);
+            assertEquals(expected.z, zs[i], delta, "z at " + i);
+            assertEquals(expected.x, xyz[i * 3], delta, "interleaved x at " + i);
+            assertEquals(expected.y, xyz[i * 3 + 1], delta, "interleaved y at " + i);
+            assertEquals(expected.z, xyz[i * 3 + 2], delta, "interleaved z at " + i);
+        }
+    }
+
+    private static void assertMatrixEquals(final Matrix4d expected, final Pose3dc pose) {
+        assertMatrixEquals(expected, pose.bakeIntoMatrix(new Matrix4d()));
+    }
+
+    private static void assertMatrixEquals(final Matrix4d expected, final Matrix4d actual) {
+        final double delta = EPSILON * Math.max(1.0, expected.getTranslation(new Vector3d()).length());
+        assertTrue(expected.equals(actual, delta), () -> "Expected\n" + expected + "but was\n" + actual);
+    }
+
+    @FunctionalInterface
+    private interface SeparateTransform {
+        void transform(double[] xs, double[] ys, double[] zs, int offset, int count);
+    }
+
+    @FunctionalInterface
+    private interface InterleavedTransform {
+        void transform(double[] xyz, int offset, int count);
+    }
+}
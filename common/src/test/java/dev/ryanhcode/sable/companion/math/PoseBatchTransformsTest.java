@@ -0,0 +1,137 @@
+package dev.ryanhcode.sable.companion.math;
+
+import org.joml.Matrix4d;
+import org.joml.Matrix4dc;
+import org.joml.Quaterniond;
+import org.joml.Vector3d;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Checks that the {@link VectorSupport#POINTS} kernel gives bit-identical results to the scalar loop.
+ * <br>
+ * The kernel is only loaded with {@code --add-modules jdk.incubator.vector}, which the test task adds.
+ */
+class PoseBatchTransformsTest {
+
+    private static final int MAX_OFFSET = 5;
+
+    /**
+     * Longer than one vector of the widest species, and not a multiple of any species length
+     */
+    private static final int MAX_COUNT = 37;
+
+    private static PointTransformKernel kernel;
+
+    @BeforeAll
+    static void requireKernel() {
+        kernel = VectorSupport.POINTS;
+        assumeTrue(kernel != null, "The Vector API kernel is not loaded");
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void kernelMatchesScalarLoop(final boolean translate) {
+        final Matrix4dc matrix = matrix();
+        final Random random = new Random(42L);
+
+        for (int offset = 0; offset <= MAX_OFFSET; offset++) {
+            for (int count = 0; count <= MAX_COUNT; count++) {
+                final double[][] expected = points(random, offset + count + 3);
+                final double[][] actual = copy(expected);
+                scalar(matrix, translate, expected, offset, offset, count);
+
+                // The kernel covers whole vectors and leaves the tail to the scalar loop
+                final int start = kernel.transform(matrix.m00(), matrix.m01(), matrix.m02(),
+                        matrix.m10(), matrix.m11(), matrix.m12(),
+                        matrix.m20(), matrix.m21(), matrix.m22(),
+                        translate ? matrix.m30() : 0.0, translate ? matrix.m31() : 0.0, translate ? matrix.m32() : 0.0,
+                        actual[0], actual[1], actual[2], offset, count);
+                assertTrue(start >= offset && start <= offset + count, "Kernel stopped at " + start);
+                if (count == MAX_COUNT) {
+                    assertTrue(start > offset, "Kernel skipped a run of " + count);
+                }
+                scalar(matrix, translate, actual, start, offset, count);
+
+                assertArraysEqual(expected, actual, offset, count);
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void separateArraysMatchInterleaved(final boolean translate) {
+        final Matrix4dc matrix = matrix();
+        final Random random = new Random(7L);
+
+        for (int offset = 0; offset <= MAX_OFFSET; offset++) {
+            for (int count = 0; count <= MAX_COUNT; count++) {
+                final double[][] separate = points(random, offset + count + 3);
+                final double[] interleaved = new double[separate[0].length * 3];
+                for (int i = 0; i < separate[0].length; i++) {
+                    interleaved[i * 3] = separate[0][i];
+                    interleaved[i * 3 + 1] = separate[1][i];
+                    interleaved[i * 3 + 2] = separate[2][i];
+                }
+
+                // Interleaved arrays are always transformed by the scalar loop
+                PoseBatchTransforms.transform(matrix, translate, separate[0], separate[1], separate[2], offset, count);
+                PoseBatchTransforms.transform(matrix, translate, interleaved, offset * 3, count);
+
+                for (int i = 0; i < separate[0].length; i++) {
+                    assertEquals(interleaved[i * 3], separate[0][i], "x at " + i);
+                    assertEquals(interleaved[i * 3 + 1], separate[1][i], "y at " + i);
+                    assertEquals(interleaved[i * 3 + 2], separate[2][i], "z at " + i);
+                }
+            }
+        }
+    }
+
+    private static Matrix4dc matrix() {
+        final Pose3d pose = new Pose3d(
+                new Vector3d(20_000_512.5, 96.0, -20_000_256.25),
+                new Quaterniond().rotateXYZ(0.3, 1.2, -0.7),
+                new Vector3d(20_000_008.0, 64.0, -20_000_008.0),
+                new Vector3d(1.5, 0.75, 2.0));
+        return pose.bakeIntoMatrix(new Matrix4d());
+    }
+
+    private static double[][] points(final Random random, final int length) {
+        final double[][] points = new double[3][length];
+        for (final double[] axis : points) {
+            for (int i = 0; i < length; i++) {
+                axis[i] = 20_000_000.0 + (random.nextDouble() - 0.5) * 64.0;
+            }
+        }
+        return points;
+    }
+
+    private static double[][] copy(final double[][] points) {
+        return new double[][]{points[0].clone(), points[1].clone(), points[2].clone()};
+    }
+
+    /**
+     * The scalar loop of {@link PoseBatchTransforms}, from {@code start} to the end of the run
+     */
+    private static void scalar(final Matrix4dc m, final boolean translate, final double[][] points, final int start, final int offset, final int count) {
+        final double[] xs = points[0], ys = points[1], zs = points[2];
+        for (int i = start; i < offset + count; i++) {
+            final double x = xs[i], y = ys[i], z = zs[i];
+            xs[i] = m.m00() * x + m.m10() * y + m.m20() * z + (translate ? m.m30() : 0.0);
+            ys[i] = m.m01() * x + m.m11() * y + m.m21() * z + (translate ? m.m31() : 0.0);
+            zs[i] = m.m02() * x + m.m12() * y + m.m22() * z + (translate ? m.m32() : 0.0);
+        }
+    }
+
+    private static void assertArraysEqual(final double[][] expected, final double[][] actual, final int offset, final int count) {
+        for (int axis = 0; axis < 3; axis++) {
+            assertArrayEquals(expected[axis], actual[axis], "Axis " + axis + " differs at offset " + offset + " with count " + count);
+        }
+    }
+}
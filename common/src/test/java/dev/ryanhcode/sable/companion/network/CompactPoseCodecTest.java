@@ -0,0 +1,195 @@
+package dev.ryanhcode.sable.companion.network;
+
+import dev.ryanhcode.sable.companion.math.Pose3d;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.DecoderException;
+import org.joml.Quaterniond;
+import org.joml.Quaterniondc;
+import org.joml.Vector3d;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Round trips poses and orientations through {@link CompactPoseCodec}.
+ */
+class CompactPoseCodecTest {
+
+    /**
+     * The largest angle between a rotation and its unpacked rotation, in radians
+     */
+    private static final double MAX_ANGLE_ERROR = 1.0E-5;
+
+    private static final int HEADER_BYTES = 1 + 3 * Integer.BYTES + Long.BYTES;
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 2, 3})
+    void packsEachLargestComponent(final int largest) {
+        final double[] components = {0.1, -0.3, 0.2, -0.25};
+        components[largest] = 0.85;
+        final Quaterniond orientation = new Quaterniond(components[0], components[1], components[2], components[3]).normalize();
+
+        final long packed = CompactPoseCodec.packOrientation(orientation);
+        assertEquals(largest, (int) (packed >>> 60));
+        assertRotationEquals(orientation, CompactPoseCodec.unpackOrientation(packed, new Quaterniond()));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 2, 3})
+    void packsNegatedRotationTheSame(final int largest) {
+        final double[] components = {0.1, -0.3, 0.2, -0.25};
+        components[largest] = -0.85;
+        final Quaterniond orientation = new Quaterniond(components[0], components[1], components[2], components[3]).normalize();
+        final Quaterniond negated = new Quaterniond(orientation).mul(-1.0);
+
+        final long packed = CompactPoseCodec.packOrientation(orientation);
+        assertEquals(packed, CompactPoseCodec.packOrientation(negated));
+
+        // The dropped component is always restored as positive, so the unpacked rotation is -q
+        final Quaterniond unpacked = CompactPoseCodec.unpackOrientation(packed, new Quaterniond());
+        assertRotationEquals(orientation, unpacked);
+        assertTrue(component(unpacked, largest) > 0.0);
+        assertEquals(component(negated, largest), component(unpacked, largest), 1.0E-5);
+    }
+
+    @Test
+    void unpackErrorIsBounded() {
+        final Random random = new Random(42L);
+        final Quaterniond unpacked = new Quaterniond();
+
+        for (int i = 0; i < 100_000; i++) {
+            final Quaterniond orientation = new Quaterniond(
+                    random.nextGaussian(), random.nextGaussian(), random.nextGaussian(), random.nextGaussian());
+
+            CompactPoseCodec.unpackOrientation(CompactPoseCodec.packOrientation(orientation), unpacked);
+            assertEquals(1.0, unpacked.lengthSquared(), 1.0E-12);
+            assertRotationEquals(orientation.normalize(), unpacked);
+        }
+    }
+
+    @Test
+    void packsZeroAsIdentity() {
+        final Quaterniond unpacked = CompactPoseCodec.unpackOrientation(CompactPoseCodec.packOrientation(new Quaterniond(0.0, 0.0, 0.0, 0.0)), new Quaterniond());
+        assertRotationEquals(new Quaterniond(), unpacked);
+    }
+
+    @Test
+    void roundTripsUnitScale() {
+        final Vector3d anchor = new Vector3d(20_000_000.0, 0.0, -20_000_000.0);
+        final Pose3d pose = pose(new Vector3d(20_000_123.456, 87.125, -19_999_876.543), new Vector3d(1.0));
+
+        final ByteBuf buf = Unpooled.buffer();
+        CompactPoseCodec.encode(buf, pose, anchor, pose.rotationPoint());
+        assertEquals(HEADER_BYTES, buf.readableBytes());
+
+        final Pose3d decoded = CompactPoseCodec.decode(buf, anchor, pose.rotationPoint(), new Pose3d());
+        assertEquals(0, buf.readableBytes());
+        assertPositionEquals(pose.position(), decoded.position(), CompactPoseCodec.POSITION_RESOLUTION * 0.5);
+        assertRotationEquals(pose.orientation(), decoded.orientation());
+        assertEquals(pose.rotationPoint(), decoded.rotationPoint());
+        assertEquals(new Vector3d(1.0), decoded.scale());
+    }
+
+    @Test
+    void roundTripsUniformScale() {
+        final Pose3d pose = pose(new Vector3d(12.5, 64.0, -3.75), new Vector3d(2.5));
+
+        final ByteBuf buf = Unpooled.buffer();
+        CompactPoseCodec.encode(buf, pose, new Vector3d(), null);
+        assertEquals(HEADER_BYTES + 3 * Double.BYTES + Float.BYTES, buf.readableBytes());
+
+        final Pose3d decoded = CompactPoseCodec.decode(buf, new Vector3d(), null, new Pose3d());
+        assertEquals(0, buf.readableBytes());
+        assertEquals(pose.position(), decoded.position());
+        assertEquals(pose.rotationPoint(), decoded.rotationPoint());
+        assertEquals(new Vector3d(2.5), decoded.scale());
+    }
+
+    @Test
+    void roundTripsNonUniformScale() {
+        final Pose3d pose = pose(new Vector3d(12.5, 64.0, -3.75), new Vector3d(1.1, 0.5, 3.0));
+
+        final ByteBuf buf = Unpooled.buffer();
+        CompactPoseCodec.encode(buf, pose, new Vector3d(), null);
+        assertEquals(HEADER_BYTES + 3 * Double.BYTES + 3 * Float.BYTES, buf.readableBytes());
+
+        final Pose3d decoded = CompactPoseCodec.decode(buf, new Vector3d(), null, new Pose3d());
+        assertEquals(0, buf.readableBytes());
+        assertEquals(new Vector3d((float) 1.1, 0.5, 3.0), decoded.scale());
+    }
+
+    @Test
+    void writesFarPositionsRaw() {
+        final Vector3d anchor = new Vector3d(100.0, 0.0, 100.0);
+
+        final Pose3d inRange = pose(new Vector3d(100.0 + CompactPoseCodec.MAX_ANCHOR_DISTANCE - 1.0, 0.0, 100.0), new Vector3d(1.0));
+        final ByteBuf fixed = Unpooled.buffer();
+        CompactPoseCodec.encode(fixed, inRange, anchor, inRange.rotationPoint());
+        assertEquals(HEADER_BYTES, fixed.readableBytes());
+        assertPositionEquals(inRange.position(), CompactPoseCodec.decode(fixed, anchor, inRange.rotationPoint(), new Pose3d()).position(), CompactPoseCodec.POSITION_RESOLUTION * 0.5);
+
+        for (final Vector3d position : new Vector3d[]{
+                new Vector3d(100.0 + CompactPoseCodec.MAX_ANCHOR_DISTANCE, 0.0, 100.0),
+                new Vector3d(100.0, -CompactPoseCodec.MAX_ANCHOR_DISTANCE, 100.0),
+                new Vector3d(100.0, 0.0, 100.0 - 2.0 * CompactPoseCodec.MAX_ANCHOR_DISTANCE)}) {
+            final Pose3d far = pose(position, new Vector3d(1.0));
+
+            final ByteBuf raw = Unpooled.buffer();
+            CompactPoseCodec.encode(raw, far, anchor, far.rotationPoint());
+            assertEquals(HEADER_BYTES + 3 * (Double.BYTES - Integer.BYTES), raw.readableBytes());
+
+            final Pose3d decoded = CompactPoseCodec.decode(raw, anchor, far.rotationPoint(), new Pose3d());
+            assertEquals(0, raw.readableBytes());
+            assertEquals(far.position(), decoded.position());
+        }
+    }
+
+    @Test
+    void reusesPreviousRotationPoint() {
+        final Pose3d pose = pose(new Vector3d(1.0, 2.0, 3.0), new Vector3d(1.0));
+        final Vector3d previous = new Vector3d(pose.rotationPoint());
+
+        final ByteBuf buf = Unpooled.buffer();
+        CompactPoseCodec.encode(buf, pose, new Vector3d(), previous);
+        assertEquals(HEADER_BYTES, buf.readableBytes());
+
+        final Pose3d decoded = CompactPoseCodec.decode(buf.copy(), new Vector3d(), previous, new Pose3d());
+        assertEquals(previous, decoded.rotationPoint());
+
+        final DecoderException exception = assertThrows(DecoderException.class, () -> CompactPoseCodec.decode(buf, new Vector3d(), null, new Pose3d()));
+        assertTrue(exception.getMessage().contains("rotation point"));
+    }
+
+    private static Pose3d pose(final Vector3d position, final Vector3d scale) {
+        return new Pose3d(position, new Quaterniond().rotateXYZ(0.4, -1.3, 2.2), new Vector3d(8.5, 4.25, -16.0), scale);
+    }
+
+    private static double component(final Quaterniondc q, final int index) {
+        return switch (index) {
+            case 0 -> q.x();
+            case 1 -> q.y();
+            case 2 -> q.z();
+            default -> q.w();
+        };
+    }
+
+    private static void assertPositionEquals(final Vector3d expected, final Vector3d actual, final double delta) {
+        assertEquals(expected.x, actual.x, delta);
+        assertEquals(expected.y, actual.y, delta);
+        assertEquals(expected.z, actual.z, delta);
+    }
+
+    /**
+     * Compares rotations by the angle between them, as {@code q} and {@code -q} are the same rotation
+     */
+    private static void assertRotationEquals(final Quaterniondc expected, final Quaterniondc actual) {
+        final double dot = Math.abs(expected.dot(actual));
+        final double angle = 2.0 * Math.acos(Math.min(1.0, dot));
+        assertTrue(angle <= MAX_ANGLE_ERROR, () -> "Rotation " + actual + " is " + angle + " rad away from " + expected);
+    }
+}
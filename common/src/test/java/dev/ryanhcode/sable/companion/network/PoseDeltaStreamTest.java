@@ -0,0 +1,176 @@
+package dev.ryanhcode.sable.companion.network;
+
+import dev.ryanhcode.sable.companion.math.Pose3d;
+import dev.ryanhcode.sable.companion.math.Pose3dc;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.DecoderException;
+import org.joml.Quaterniond;
+import org.joml.Vector3d;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Streams poses from a {@link PoseDeltaEncoder} to a {@link PoseDeltaDecoder}, one buffer per tick.
+ */
+class PoseDeltaStreamTest {
+
+    private static final double DISTANCE_TOLERANCE = 0.01;
+    private static final double ANGULAR_TOLERANCE = Math.toRadians(0.5);
+    private static final double MAX_ANGLE_ERROR = 1.0E-5;
+
+    /**
+     * Returned by {@link #tick} when nothing was sent
+     */
+    private static final byte NONE = -1;
+
+    private final PoseDeltaDecoder decoder = new PoseDeltaDecoder();
+
+    @Test
+    void firstUpdateIsAnExactKeyframe() {
+        final PoseDeltaEncoder encoder = new PoseDeltaEncoder(20, DISTANCE_TOLERANCE, ANGULAR_TOLERANCE);
+        final Pose3d pose = startPose();
+
+        assertEquals(PoseDeltaEncoder.KEYFRAME, this.tick(encoder, pose));
+        assertTrue(this.decoder.hasKeyframe());
+        assertPoseEquals(pose, this.decoder.pose(), 0.0);
+    }
+
+    @Test
+    void deadBandSuppressesSmallMoves() {
+        final PoseDeltaEncoder encoder = new PoseDeltaEncoder(1000, DISTANCE_TOLERANCE, ANGULAR_TOLERANCE);
+        final Pose3d pose = startPose();
+        this.tick(encoder, pose);
+
+        // Drift is measured from the last sent pose, so slow drift is sent once it adds up past the tolerance
+        final List<Byte> updates = new ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            pose.position().add(DISTANCE_TOLERANCE * 0.4, 0.0, 0.0);
+            updates.add(this.tick(encoder, pose));
+        }
+        assertEquals(List.of(NONE, NONE, PoseDeltaEncoder.DELTA, NONE, NONE, PoseDeltaEncoder.DELTA, NONE, NONE, PoseDeltaEncoder.DELTA), updates);
+        assertPoseEquals(pose, this.decoder.pose(), CompactPoseCodec.POSITION_RESOLUTION);
+
+        final Quaterniond received = new Quaterniond(this.decoder.pose().orientation());
+        pose.orientation().rotateY(ANGULAR_TOLERANCE * 0.8);
+        assertEquals(NONE, this.tick(encoder, pose));
+        assertEquals(received, this.decoder.pose().orientation());
+
+        pose.orientation().rotateY(ANGULAR_TOLERANCE * 0.4);
+        assertEquals(PoseDeltaEncoder.DELTA, this.tick(encoder, pose));
+        assertPoseEquals(pose, this.decoder.pose(), CompactPoseCodec.POSITION_RESOLUTION);
+
+        pose.rotationPoint().add(0.0, DISTANCE_TOLERANCE * 0.5, 0.0);
+        assertEquals(NONE, this.tick(encoder, pose));
+        pose.rotationPoint().add(0.0, DISTANCE_TOLERANCE * 0.6, 0.0);
+        assertEquals(PoseDeltaEncoder.DELTA, this.tick(encoder, pose));
+        assertEquals(pose.rotationPoint(), this.decoder.pose().rotationPoint());
+
+        // A scale change is always sent, however small
+        pose.scale().set(1.0 + 1.0E-6);
+        assertEquals(PoseDeltaEncoder.DELTA, this.tick(encoder, pose));
+        assertEquals(new Vector3d((float) (1.0 + 1.0E-6)), this.decoder.pose().scale());
+    }
+
+    @Test
+    void keyframesFollowTheInterval() {
+        final PoseDeltaEncoder encoder = new PoseDeltaEncoder(5, DISTANCE_TOLERANCE, ANGULAR_TOLERANCE);
+        final Pose3d pose = startPose();
+
+        final List<Byte> updates = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            pose.position().add(0.25, -0.125, 0.5);
+            pose.orientation().rotateX(0.05);
+            updates.add(this.tick(encoder, pose));
+            assertPoseEquals(pose, this.decoder.pose(), CompactPoseCodec.POSITION_RESOLUTION);
+        }
+
+        final byte k = PoseDeltaEncoder.KEYFRAME, d = PoseDeltaEncoder.DELTA;
+        assertEquals(List.of(k, d, d, d, d, k, d, d, d, d, k, d), updates);
+    }
+
+    @Test
+    void parkedSubLevelSendsKeyframeOnceItMoves() {
+        final PoseDeltaEncoder encoder = new PoseDeltaEncoder(5, DISTANCE_TOLERANCE, ANGULAR_TOLERANCE);
+        final Pose3d pose = startPose();
+        this.tick(encoder, pose);
+
+        // Parked past the keyframe interval, nothing is sent at all
+        for (int i = 0; i < 20; i++) {
+            assertEquals(NONE, this.tick(encoder, pose));
+        }
+
+        pose.position().add(1.0, 0.0, 0.0);
+        assertEquals(PoseDeltaEncoder.KEYFRAME, this.tick(encoder, pose));
+        assertPoseEquals(pose, this.decoder.pose(), 0.0);
+
+        pose.position().add(1.0, 0.0, 0.0);
+        assertEquals(PoseDeltaEncoder.DELTA, this.tick(encoder, pose));
+    }
+
+    @Test
+    void forcedKeyframeIsSentWithoutMoving() {
+        final PoseDeltaEncoder encoder = new PoseDeltaEncoder(20, DISTANCE_TOLERANCE, ANGULAR_TOLERANCE);
+        final Pose3d pose = startPose();
+        this.tick(encoder, pose);
+        assertEquals(NONE, this.tick(encoder, pose));
+
+        encoder.forceKeyframe();
+        final PoseDeltaDecoder lateDecoder = new PoseDeltaDecoder();
+        final ByteBuf buf = Unpooled.buffer();
+        assertTrue(encoder.encode(buf, pose));
+        assertEquals(PoseDeltaEncoder.KEYFRAME, buf.getByte(0));
+        assertPoseEquals(pose, lateDecoder.decode(buf), 0.0);
+    }
+
+    @Test
+    void decoderRejectsInvalidUpdates() {
+        final ByteBuf delta = Unpooled.buffer().writeByte(PoseDeltaEncoder.DELTA);
+        assertThrows(DecoderException.class, () -> this.decoder.decode(delta));
+        assertFalse(this.decoder.hasKeyframe());
+
+        final ByteBuf unknown = Unpooled.buffer().writeByte(7);
+        assertThrows(DecoderException.class, () -> this.decoder.decode(unknown));
+    }
+
+    /**
+     * Runs one tick of the stream.
+     *
+     * @return the type of the update sent, or {@link #NONE}
+     */
+    private byte tick(final PoseDeltaEncoder encoder, final Pose3dc pose) {
+        final ByteBuf buf = Unpooled.buffer();
+        if (!encoder.encode(buf, pose)) {
+            assertEquals(0, buf.readableBytes());
+            return NONE;
+        }
+
+        final byte type = buf.getByte(0);
+        this.decoder.decode(buf);
+        assertEquals(0, buf.readableBytes());
+        return type;
+    }
+
+    private static Pose3d startPose() {
+        return new Pose3d(
+                new Vector3d(20_000_512.5, 96.0, 20_000_256.25),
+                new Quaterniond().rotateXYZ(0.2, 0.9, -0.3),
+                new Vector3d(20_000_008.0, 64.0, 20_000_008.0),
+                new Vector3d(1.0));
+    }
+
+    private static void assertPoseEquals(final Pose3dc expected, final Pose3dc actual, final double positionDelta) {
+        assertEquals(expected.position().x(), actual.position().x(), positionDelta);
+        assertEquals(expected.position().y(), actual.position().y(), positionDelta);
+        assertEquals(expected.position().z(), actual.position().z(), positionDelta);
+        assertEquals(expected.rotationPoint(), actual.rotationPoint());
+        assertEquals(expected.scale(), actual.scale());
+
+        final double angle = 2.0 * Math.acos(Math.min(1.0, Math.abs(expected.orientation().dot(actual.orientation()))));
+        assertTrue(angle <= MAX_ANGLE_ERROR, () -> "Orientation is " + angle + " rad off");
+    }
+}
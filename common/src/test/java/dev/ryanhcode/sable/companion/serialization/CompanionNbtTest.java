@@ -0,0 +1,127 @@
+package dev.ryanhcode.sable.companion.serialization;
+
+import dev.ryanhcode.sable.companion.math.BoundingBox3d;
+import dev.ryanhcode.sable.companion.math.BoundingBox3dc;
+import dev.ryanhcode.sable.companion.math.BoundingBox3i;
+import dev.ryanhcode.sable.companion.math.Pose3d;
+import dev.ryanhcode.sable.companion.math.Pose3dc;
+import net.minecraft.nbt.IntArrayTag;
+import net.minecraft.nbt.LongArrayTag;
+import net.minecraft.nbt.NbtOps;
+import net.minecraft.nbt.StringTag;
+import net.minecraft.nbt.Tag;
+import org.joml.Quaterniond;
+import org.joml.Vector3d;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that {@link CompanionNbt} round trips its own format and keeps reading the tags written by the codecs.
+ */
+class CompanionNbtTest {
+
+    @Test
+    void roundTripsPoseBitExact() {
+        final Pose3d pose = pose();
+
+        final LongArrayTag tag = CompanionNbt.writePose(pose);
+        assertEquals(CompanionNbt.FORMAT_VERSION, tag.getAsLongArray()[0]);
+        assertPoseEquals(pose, CompanionNbt.readPose(tag));
+    }
+
+    @Test
+    void readsPoseCodecTags() {
+        final Pose3d pose = pose();
+
+        final Tag tag = Pose3d.CODEC.encodeStart(NbtOps.INSTANCE, pose).getOrThrow(IllegalStateException::new);
+        assertFalse(tag instanceof LongArrayTag);
+        assertPoseEquals(pose, CompanionNbt.readPose(tag, new Pose3d()));
+    }
+
+    @Test
+    void roundTripsBounds() {
+        final BoundingBox3d bounds = new BoundingBox3d(-0.0, -64.5, 1.0E-300, 20_000_000.125, 320.0, Double.MAX_VALUE);
+
+        final LongArrayTag tag = CompanionNbt.writeBounds(bounds);
+        assertEquals(CompanionNbt.FORMAT_VERSION, tag.getAsLongArray()[0]);
+        assertBoundsEquals(bounds, CompanionNbt.readBounds(tag, new BoundingBox3d()));
+    }
+
+    @Test
+    void readsBoundsCodecTags() {
+        final BoundingBox3d bounds = new BoundingBox3d(-12.25, -64.0, 3.5, 40.75, 320.0, 99.125);
+
+        final Tag tag = BoundingBox3d.CODEC.encodeStart(NbtOps.INSTANCE, bounds).getOrThrow(IllegalStateException::new);
+        assertFalse(tag instanceof LongArrayTag);
+        assertBoundsEquals(bounds, CompanionNbt.readBounds(tag, new BoundingBox3d()));
+    }
+
+    @Test
+    void roundTripsIntBounds() {
+        final BoundingBox3i bounds = new BoundingBox3i(-30_000_000, -64, 7, 30_000_000, 319, 1_000_000);
+
+        final IntArrayTag tag = CompanionNbt.writeBounds(bounds);
+        assertEquals(7, tag.size());
+        assertEquals(bounds, CompanionNbt.readBounds(tag, new BoundingBox3i()));
+    }
+
+    @Test
+    void readsIntBoundsCodecTagsByLength() {
+        // The first element matches the format version, so only the length tells the legacy tag apart
+        final BoundingBox3i bounds = new BoundingBox3i(CompanionNbt.FORMAT_VERSION, -64, -5, 16, 319, 11);
+
+        final Tag tag = BoundingBox3i.CODEC.encodeStart(NbtOps.INSTANCE, bounds).getOrThrow(IllegalStateException::new);
+        final IntArrayTag arrayTag = assertInstanceOf(IntArrayTag.class, tag);
+        assertEquals(6, arrayTag.size());
+        assertEquals(bounds, CompanionNbt.readBounds(tag, new BoundingBox3i()));
+    }
+
+    @Test
+    void rejectsUnknownVersions() {
+        final long[] pose = CompanionNbt.writePose(pose()).getAsLongArray();
+        pose[0] = CompanionNbt.FORMAT_VERSION + 1;
+        assertThrows(IllegalArgumentException.class, () -> CompanionNbt.readPose(new LongArrayTag(pose)));
+
+        final long[] bounds = CompanionNbt.writeBounds(new BoundingBox3d(0.0, 0.0, 0.0, 1.0, 1.0, 1.0)).getAsLongArray();
+        bounds[0] = CompanionNbt.FORMAT_VERSION + 1;
+        assertThrows(IllegalArgumentException.class, () -> CompanionNbt.readBounds(new LongArrayTag(bounds), new BoundingBox3d()));
+
+        final int[] intBounds = CompanionNbt.writeBounds(new BoundingBox3i(0, 0, 0, 1, 1, 1)).getAsIntArray();
+        intBounds[0] = CompanionNbt.FORMAT_VERSION + 1;
+        assertThrows(IllegalArgumentException.class, () -> CompanionNbt.readBounds(new IntArrayTag(intBounds), new BoundingBox3i()));
+    }
+
+    @Test
+    void rejectsMalformedTags() {
+        assertThrows(IllegalArgumentException.class, () -> CompanionNbt.readPose(new LongArrayTag(new long[0])));
+        assertThrows(IllegalArgumentException.class, () -> CompanionNbt.readPose(CompanionNbt.writeBounds(new BoundingBox3d(0.0, 0.0, 0.0, 1.0, 1.0, 1.0))));
+        assertThrows(IllegalArgumentException.class, () -> CompanionNbt.readBounds(CompanionNbt.writePose(pose()), new BoundingBox3d()));
+        assertThrows(IllegalArgumentException.class, () -> CompanionNbt.readPose(StringTag.valueOf("pose")));
+        assertThrows(IllegalArgumentException.class, () -> CompanionNbt.readBounds(new IntArrayTag(new int[]{1, 2, 3}), new BoundingBox3i()));
+    }
+
+    private static Pose3d pose() {
+        return new Pose3d(
+                new Vector3d(20_000_512.123456789, -0.0, -20_000_256.987654321),
+                new Quaterniond().rotateXYZ(0.2, 0.9, -0.3),
+                new Vector3d(20_000_008.0, 64.0, 1.0E-300),
+                new Vector3d(1.5, 0.25, 3.0));
+    }
+
+    private static void assertPoseEquals(final Pose3dc expected, final Pose3dc actual) {
+        assertEquals(expected.position(), actual.position());
+        assertEquals(expected.orientation(), actual.orientation());
+        assertEquals(expected.rotationPoint(), actual.rotationPoint());
+        assertEquals(expected.scale(), actual.scale());
+    }
+
+    private static void assertBoundsEquals(final BoundingBox3dc expected, final BoundingBox3dc actual) {
+        assertEquals(expected.minX(), actual.minX());
+        assertEquals(expected.minY(), actual.minY());
+        assertEquals(expected.minZ(), actual.minZ());
+        assertEquals(expected.maxX(), actual.maxX());
+        assertEquals(expected.maxY(), actual.maxY());
+        assertEquals(expected.maxZ(), actual.maxZ());
+    }
+}
@@ -0,0 +1,273 @@
+package dev.ryanhcode.sable.companion.spatial;
+
+import dev.ryanhcode.sable.companion.SubLevelAccess;
+import dev.ryanhcode.sable.companion.math.BoundingBox3d;
+import dev.ryanhcode.sable.companion.math.BoundingBox3dc;
+import dev.ryanhcode.sable.companion.math.Pose3d;
+import dev.ryanhcode.sable.companion.math.Pose3dc;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks {@link SubLevelTree} against a brute-force scan over random insert, move and remove sequences.
+ */
+class SubLevelTreeTest {
+
+    private static final double WORLD_SIZE = 2000.0;
+    private static final int OPERATIONS = 5000;
+    private static final int QUERY_INTERVAL = 50;
+
+    @ParameterizedTest
+    @ValueSource(longs = {1L, 2L, 3L, 4L})
+    void randomOperationsMatchBruteForce(final long seed) {
+        final Random random = new Random(seed);
+        final SubLevelTree<TestSubLevel> tree = new SubLevelTree<>();
+        final List<TestSubLevel> live = new ArrayList<>();
+
+        for (int operation = 0; operation < OPERATIONS; operation++) {
+            final double action = random.nextDouble();
+            if (live.isEmpty() || action < 0.4) {
+                final TestSubLevel subLevel = new TestSubLevel();
+                place(subLevel, random);
+                live.add(subLevel);
+                tree.insert(subLevel);
+            } else if (action < 0.75) {
+                final TestSubLevel subLevel = live.get(random.nextInt(live.size()));
+                if (random.nextBoolean()) {
+                    place(subLevel, random);
+                } else {
+                    nudge(subLevel, random);
+                }
+                tree.update(subLevel);
+            } else {
+                final TestSubLevel subLevel = live.remove(random.nextInt(live.size()));
+                assertTrue(tree.remove(subLevel));
+                assertFalse(tree.contains(subLevel));
+                assertHeightBounded(tree);
+            }
+
+            tree.validate();
+            assertEquals(live.size(), tree.size());
+
+            if (operation % QUERY_INTERVAL == 0) {
+                checkQueries(tree, live, random);
+            }
+        }
+
+        while (!live.isEmpty()) {
+            assertTrue(tree.remove(live.remove(random.nextInt(live.size()))));
+            tree.validate();
+            assertHeightBounded(tree);
+
+            if (live.size() % QUERY_INTERVAL == 0) {
+                checkQueries(tree, live, random);
+            }
+        }
+
+        assertEquals(0, tree.size());
+        assertEquals(0, tree.getHeight());
+    }
+
+    @Test
+    void sortedInsertionsStayBalanced() {
+        final SubLevelTree<TestSubLevel> tree = new SubLevelTree<>();
+        final List<TestSubLevel> subLevels = new ArrayList<>();
+
+        for (int i = 0; i < 1024; i++) {
+            final TestSubLevel subLevel = new TestSubLevel();
+            subLevel.bounds.set(i * 8.0, 0.0, 0.0, i * 8.0 + 4.0, 4.0, 4.0);
+            subLevels.add(subLevel);
+            tree.insert(subLevel);
+            assertHeightBounded(tree);
+        }
+        tree.validate();
+
+        // Removing every other leaf from one end leaves long runs of collapsed parents behind
+        for (int i = 0; i < subLevels.size(); i += 2) {
+            assertTrue(tree.remove(subLevels.get(i)));
+            tree.validate();
+            assertHeightBounded(tree);
+        }
+
+        assertEquals(512, tree.size());
+    }
+
+    @Test
+    void updateInsideFatBoundsKeepsStructure() {
+        final SubLevelTree<TestSubLevel> tree = new SubLevelTree<>(2.0);
+        final TestSubLevel a = new TestSubLevel();
+        final TestSubLevel b = new TestSubLevel();
+        a.bounds.set(0.0, 0.0, 0.0, 4.0, 4.0, 4.0);
+        b.bounds.set(100.0, 0.0, 0.0, 104.0, 4.0, 4.0);
+        tree.insert(a);
+        tree.insert(b);
+
+        a.bounds.set(1.0, 1.0, 1.0, 5.0, 5.0, 5.0);
+        assertFalse(tree.update(a));
+
+        a.bounds.set(10.0, 0.0, 0.0, 14.0, 4.0, 4.0);
+        assertTrue(tree.update(a));
+        tree.validate();
+
+        // The old fat box must not report the sub-level once it has moved out of it
+        final List<TestSubLevel> found = tree.collectIntersecting(new BoundingBox3d(-1.0, -1.0, -1.0, 6.0, 6.0, 6.0), new ArrayList<>());
+        assertTrue(found.isEmpty());
+    }
+
+    @Test
+    void nestedQueriesDoNotCorruptTheOuterQuery() {
+        final Random random = new Random(7L);
+        final SubLevelTree<TestSubLevel> tree = new SubLevelTree<>();
+        final List<TestSubLevel> live = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            final TestSubLevel subLevel = new TestSubLevel();
+            place(subLevel, random);
+            live.add(subLevel);
+            tree.insert(subLevel);
+        }
+
+        final BoundingBox3d everything = new BoundingBox3d(-WORLD_SIZE, -WORLD_SIZE, -WORLD_SIZE, WORLD_SIZE, WORLD_SIZE, WORLD_SIZE);
+        final List<TestSubLevel> outer = new ArrayList<>();
+        tree.forEachIntersecting(everything, subLevel -> {
+            outer.add(subLevel);
+
+            final BoundingBox3dc box = subLevel.boundingBox();
+            assertEquals(bruteForceIntersecting(live, box), new HashSet<>(tree.collectIntersecting(box, new ArrayList<>())));
+            assertEquals(bruteForceNearest(live, box.minX(), box.minY(), box.minZ(), 3, 500.0),
+                    distances(tree.findNearest(box.minX(), box.minY(), box.minZ(), 3, 500.0, new ArrayList<>()), box.minX(), box.minY(), box.minZ()));
+            return true;
+        });
+
+        assertEquals(new HashSet<>(live), new HashSet<>(outer));
+        assertEquals(live.size(), outer.size());
+    }
+
+    @Test
+    void findNearestRespectsLimits() {
+        final SubLevelTree<TestSubLevel> tree = new SubLevelTree<>();
+        for (int i = 0; i < 10; i++) {
+            final TestSubLevel subLevel = new TestSubLevel();
+            subLevel.bounds.set(i * 10.0, 0.0, 0.0, i * 10.0 + 1.0, 1.0, 1.0);
+            tree.insert(subLevel);
+        }
+
+        assertTrue(tree.findNearest(0.0, 0.0, 0.0, 0, 1000.0, new ArrayList<>()).isEmpty());
+        assertTrue(tree.findNearest(0.0, 0.0, 0.0, 5, -1.0, new ArrayList<>()).isEmpty());
+        assertEquals(List.of(0.0, 100.0, 400.0), distances(tree.findNearest(0.0, 0.0, 0.0, 5, 20.0, new ArrayList<>()), 0.0, 0.0, 0.0));
+        assertEquals(10, tree.findNearest(0.0, 0.0, 0.0, 100, 1000.0, new ArrayList<>()).size());
+    }
+
+    private static void checkQueries(final SubLevelTree<TestSubLevel> tree, final List<TestSubLevel> live, final Random random) {
+        for (int i = 0; i < 8; i++) {
+            final double x = (random.nextDouble() - 0.5) * WORLD_SIZE;
+            final double y = random.nextDouble() * 200.0;
+            final double z = (random.nextDouble() - 0.5) * WORLD_SIZE;
+            final double size = random.nextDouble() * 200.0;
+            final BoundingBox3d box = new BoundingBox3d(x, y, z, x + size, y + size * 0.25, z + size);
+
+            final List<TestSubLevel> found = tree.collectIntersecting(box, new ArrayList<>());
+            assertEquals(new HashSet<>(found).size(), found.size(), "Query reported a sub-level twice");
+            assertEquals(bruteForceIntersecting(live, box), new HashSet<>(found));
+
+            final int k = 1 + random.nextInt(8);
+            final double maxDistance = random.nextDouble() * 400.0;
+            final List<TestSubLevel> nearest = tree.findNearest(x, y, z, k, maxDistance, new ArrayList<>());
+            assertEquals(new HashSet<>(nearest).size(), nearest.size(), "Nearest query reported a sub-level twice");
+            assertTrue(live.containsAll(nearest));
+            assertEquals(bruteForceNearest(live, x, y, z, k, maxDistance), distances(nearest, x, y, z));
+        }
+    }
+
+    private static HashSet<TestSubLevel> bruteForceIntersecting(final List<TestSubLevel> live, final BoundingBox3dc box) {
+        final HashSet<TestSubLevel> result = new HashSet<>();
+        for (final TestSubLevel subLevel : live) {
+            if (subLevel.boundingBox().intersects(box)) {
+                result.add(subLevel);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Sub-levels at equal distances may be reported in any order, so nearest queries are compared by distance.
+     */
+    private static List<Double> bruteForceNearest(final List<TestSubLevel> live, final double x, final double y, final double z, final int k, final double maxDistance) {
+        return live.stream()
+                .map(subLevel -> subLevel.boundingBox().distanceSquared(x, y, z))
+                .filter(distance -> distance <= maxDistance * maxDistance)
+                .sorted(Comparator.naturalOrder())
+                .limit(k)
+                .toList();
+    }
+
+    private static List<Double> distances(final List<TestSubLevel> subLevels, final double x, final double y, final double z) {
+        return subLevels.stream().map(subLevel -> subLevel.boundingBox().distanceSquared(x, y, z)).toList();
+    }
+
+    private static void assertHeightBounded(final SubLevelTree<TestSubLevel> tree) {
+        final int size = tree.size();
+        final int maxHeight = size <= 1 ? 0 : 2 * (32 - Integer.numberOfLeadingZeros(size - 1));
+        assertTrue(tree.getHeight() <= maxHeight, () -> "Height " + tree.getHeight() + " for " + size + " sub-levels exceeds " + maxHeight);
+    }
+
+    private static void place(final TestSubLevel subLevel, final Random random) {
+        final double x = (random.nextDouble() - 0.5) * WORLD_SIZE;
+        final double y = random.nextDouble() * 200.0;
+        final double z = (random.nextDouble() - 0.5) * WORLD_SIZE;
+        subLevel.bounds.set(x, y, z, x + 1.0 + random.nextDouble() * 30.0, y + 1.0 + random.nextDouble() * 15.0, z + 1.0 + random.nextDouble() * 30.0);
+    }
+
+    private static void nudge(final TestSubLevel subLevel, final Random random) {
+        final BoundingBox3d bounds = subLevel.bounds;
+        final double dx = (random.nextDouble() - 0.5) * 4.0;
+        final double dy = (random.nextDouble() - 0.5) * 4.0;
+        final double dz = (random.nextDouble() - 0.5) * 4.0;
+        bounds.set(bounds.minX() + dx, bounds.minY() + dy, bounds.minZ() + dz, bounds.maxX() + dx, bounds.maxY() + dy, bounds.maxZ() + dz);
+    }
+
+    /**
+     * A sub-level that is only a bounding box, keyed by identity
+     */
+    private static final class TestSubLevel implements SubLevelAccess {
+
+        private final UUID uniqueId = UUID.randomUUID();
+        private final Pose3d pose = new Pose3d();
+        private final BoundingBox3d bounds = new BoundingBox3d();
+
+        @Override
+        public Pose3dc logicalPose() {
+            return this.pose;
+        }
+
+        @Override
+        public Pose3dc lastPose() {
+            return this.pose;
+        }
+
+        @Override
+        public BoundingBox3dc boundingBox() {
+            return this.bounds;
+        }
+
+        @Override
+        public UUID getUniqueId() {
+            return this.uniqueId;
+        }
+
+        @Override
+        public @Nullable String getName() {
+            return null;
+        }
+    }
+}
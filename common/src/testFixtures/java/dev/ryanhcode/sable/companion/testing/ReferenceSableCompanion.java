@@ -0,0 +1,396 @@
+package dev.ryanhcode.sable.companion.testing;
+
+import dev.ryanhcode.sable.companion.PlotGrid;
+import dev.ryanhcode.sable.companion.SableCompanion;
+import dev.ryanhcode.sable.companion.SubLevelAccess;
+import dev.ryanhcode.sable.companion.SubLevelVisitor;
+import dev.ryanhcode.sable.companion.impl.SableCompanionUtil;
+import dev.ryanhcode.sable.companion.math.BoundingBox3d;
+import dev.ryanhcode.sable.companion.math.BoundingBox3dc;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Position;
+import net.minecraft.core.SectionPos;
+import net.minecraft.util.Mth;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.Vec3;
+import org.jetbrains.annotations.Nullable;
+import org.joml.Vector3d;
+import org.joml.Vector3dc;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+import java.util.function.BiFunction;
+
+/**
+ * A reference in-memory implementation of {@link SableCompanion} for load and behavior tests without Sable.
+ * <br>
+ * Every level gets its own {@link ReferenceSubLevelContainer} holding real poses and bounds, and velocities are
+ * computed from the difference between the last and logical pose of a sub-level. Levels are held weakly, and a
+ * {@code null} level is a valid key for fully headless tests. This implementation is not thread-safe.
+ * <br>
+ * Registered through the service loader with a load priority above the default implementation but below Sable,
+ * so it is picked up automatically when the test fixtures are on the classpath.
+ *
+ * @since 1.5.0
+ */
+@SableCompanion.LoadPriority(750)
+public final class ReferenceSableCompanion implements SableCompanion {
+
+    private final Map<Level, ReferenceSubLevelContainer> containers = new WeakHashMap<>();
+    private final Map<Level, ReferenceSubLevelView> views = new WeakHashMap<>();
+    private @Nullable Level clientLevel;
+
+    /**
+     * @return the reference companion, if it is the active instance
+     * @throws IllegalStateException if a different companion is active
+     */
+    public static ReferenceSableCompanion get() {
+        if (!(SableCompanion.INSTANCE instanceof final ReferenceSableCompanion companion)) {
+            throw new IllegalStateException("Reference companion is not active, found " + SableCompanion.INSTANCE.getClass().getName());
+        }
+
+        return companion;
+    }
+
+    @Override
+    public Features features() {
+        return new Features(true, true);
+    }
+
+    /**
+     * Gets or creates the sub-level container for a level.
+     *
+     * @param level the level, or null for a headless container
+     * @return the container
+     */
+    public ReferenceSubLevelContainer getContainer(@Nullable final Level level) {
+        return this.containers.computeIfAbsent(level, l -> new ReferenceSubLevelContainer());
+    }
+
+    /**
+     * Sets the container used for a level, replacing any existing one.
+     *
+     * @param level     the level, or null for a headless container
+     * @param container the container
+     */
+    public void setContainer(@Nullable final Level level, final ReferenceSubLevelContainer container) {
+        this.containers.put(level, container);
+        this.views.remove(level);
+    }
+
+    /**
+     * Sets the level returned by {@link #getClientLevel()}.
+     *
+     * @param clientLevel the client level
+     */
+    public void setClientLevel(@Nullable final Level clientLevel) {
+        this.clientLevel = clientLevel;
+    }
+
+    @Override
+    public ReferenceSubLevelView forLevel(@Nullable final Level level) {
+        return this.views.computeIfAbsent(level, l -> new ReferenceSubLevelView(this, l, this.getContainer(l)));
+    }
+
+    @Override
+    public @Nullable ReferenceSubLevelView forClientLevel() {
+        return this.clientLevel != null ? this.forLevel(this.clientLevel) : null;
+    }
+
+    private @Nullable ReferenceSubLevelContainer getContainerIfPresent(@Nullable final Level level) {
+        return this.containers.get(level);
+    }
+
+    @Override
+    public Iterable<ReferenceSubLevel> getAllIntersecting(final Level level, final BoundingBox3dc bounds) {
+        final ReferenceSubLevelContainer container = this.getContainerIfPresent(level);
+        if (container == null) {
+            return List.of();
+        }
+
+        return container.collectIntersecting(bounds, new ArrayList<>());
+    }
+
+    @Override
+    public <T extends List<? super SubLevelAccess>> T getAllIntersecting(final Level level, final BoundingBox3dc bounds, final T dest) {
+        dest.clear();
+
+        final ReferenceSubLevelContainer container = this.getContainerIfPresent(level);
+        if (container != null) {
+            container.collectIntersecting(bounds, dest);
+        }
+        return dest;
+    }
+
+    @Override
+    public boolean forEachIntersecting(final Level level, final BoundingBox3dc bounds, final SubLevelVisitor visitor) {
+        final ReferenceSubLevelContainer container = this.getContainerIfPresent(level);
+        return container == null || container.getTree().forEachIntersecting(bounds, visitor::visit);
+    }
+
+    @Override
+    public boolean anyIntersecting(final Level level, final BoundingBox3dc bounds) {
+        final ReferenceSubLevelContainer container = this.getContainerIfPresent(level);
+        return container != null && !container.getTree().forEachIntersecting(bounds, subLevel -> false);
+    }
+
+    @Override
+    public int countIntersecting(final Level level, final BoundingBox3dc bounds) {
+        final ReferenceSubLevelContainer container = this.getContainerIfPresent(level);
+        if (container == null) {
+            return 0;
+        }
+
+        final int[] count = new int[1];
+        container.getTree().forEachIntersecting(bounds, subLevel -> {
+            count[0]++;
+            return true;
+        });
+        return count[0];
+    }
+
+    @Override
+    public <T extends List<? super SubLevelAccess>> T findNearest(final Level level, final Vector3dc point, final int k, final double maxDistance, final T dest) {
+        dest.clear();
+
+        final ReferenceSubLevelContainer container = this.getContainerIfPresent(level);
+        if (container == null) {
+            return dest;
+        }
+
+        final Vector3d global = this.projectOutOfSubLevel(level, point, new Vector3d());
+        return container.getTree().findNearest(global.x, global.y, global.z, k, maxDistance, dest);
+    }
+
+    @Override
+    public @Nullable ReferenceSubLevel getContaining(final Level level, final int chunkX, final int chunkZ) {
+        final ReferenceSubLevelContainer container = this.getContainerIfPresent(level);
+        return container != null ? container.getContaining(chunkX, chunkZ) : null;
+    }
+
+    @Override
+    public SubLevelAccess[] getContainingChunks(final Level level, final long[] packedChunkPositions, final int offset, final int count, final SubLevelAccess[] dest) {
+        Objects.checkFromIndexSize(offset, count, packedChunkPositions.length);
+
+        final ReferenceSubLevelContainer container = this.getContainerIfPresent(level);
+        if (container == null) {
+            Arrays.fill(dest, offset, offset + count, null);
+            return dest;
+        }
+
+        for (int i = offset; i < offset + count; i++) {
+            final long packed = packedChunkPositions[i];
+            dest[i] = container.getContaining(ChunkPos.getX(packed), ChunkPos.getZ(packed));
+        }
+        return dest;
+    }
+
+    @Override
+    public SubLevelAccess[] getContainingBlocks(final Level level, final long[] packedBlockPositions, final int offset, final int count, final SubLevelAccess[] dest) {
+        Objects.checkFromIndexSize(offset, count, packedBlockPositions.length);
+
+        final ReferenceSubLevelContainer container = this.getContainerIfPresent(level);
+        if (container == null) {
+            Arrays.fill(dest, offset, offset + count, null);
+            return dest;
+        }
+
+        for (int i = offset; i < offset + count; i++) {
+            final long packed = packedBlockPositions[i];
+            dest[i] = container.getContaining(BlockPos.getX(packed) >> SectionPos.SECTION_BITS, BlockPos.getZ(packed) >> SectionPos.SECTION_BITS);
+        }
+        return dest;
+    }
+
+    private @Nullable ReferenceSubLevel getContainingPoint(final Level level, final double x, final double z) {
+        return this.getContaining(level, Mth.floor(x) >> SectionPos.SECTION_BITS, Mth.floor(z) >> SectionPos.SECTION_BITS);
+    }
+
+    @Override
+    public Vector3d projectOutOfSubLevel(final Level level, final Vector3dc pos, final Vector3d dest) {
+        final ReferenceSubLevel subLevel = this.getContainingPoint(level, pos.x(), pos.z());
+        if (subLevel == null) {
+            return dest.set(pos);
+        }
+
+        return subLevel.logicalPose().transformPosition(pos, dest);
+    }
+
+    @Override
+    public double[] projectOutOfSubLevel(final Level level, final double[] positions, final int count) {
+        final ReferenceSubLevelContainer container = this.getContainerIfPresent(level);
+        if (container == null) {
+            Objects.checkFromIndexSize(0, count * 3, positions.length);
+            return positions;
+        }
+
+        return SableCompanionUtil.projectOutOfSubLevels(container::getContaining, positions, count);
+    }
+
+    @Override
+    public Vec3 projectOutOfSubLevel(final Level level, final Vec3 pos) {
+        final ReferenceSubLevel subLevel = this.getContainingPoint(level, pos.x, pos.z);
+        if (subLevel == null) {
+            return pos;
+        }
+
+        return subLevel.logicalPose().transformPosition(pos);
+    }
+
+    @Override
+    public @Nullable <T, S extends SubLevelAccess> T runIncludingSubLevels(final Level level, final Vec3 origin, final boolean shouldCheckOrigin, @Nullable final S subLevel, final BiFunction<@Nullable S, BlockPos, T> converter) {
+        if (shouldCheckOrigin) {
+            final T result = converter.apply(subLevel, BlockPos.containing(origin));
+            if (result != null) {
+                return result;
+            }
+        }
+
+        final Vector3d global = new Vector3d(origin.x, origin.y, origin.z);
+        if (subLevel != null) {
+            subLevel.logicalPose().transformPosition(global);
+
+            final T result = converter.apply(null, BlockPos.containing(global.x, global.y, global.z));
+            if (result != null) {
+                return result;
+            }
+        }
+
+        final ReferenceSubLevelContainer container = this.getContainerIfPresent(level);
+        if (container == null) {
+            return null;
+        }
+
+        final List<ReferenceSubLevel> candidates = container.getTree().collectIntersecting(new BoundingBox3d(global.x, global.y, global.z, global.x, global.y, global.z), new ArrayList<>());
+        final Vector3d local = new Vector3d();
+        for (final ReferenceSubLevel other : candidates) {
+            if (other == subLevel) {
+                continue;
+            }
+
+            other.logicalPose().transformPositionInverse(global, local);
+
+            @SuppressWarnings("unchecked") final T result = converter.apply((S) other, BlockPos.containing(local.x, local.y, local.z));
+            if (result != null) {
+                return result;
+            }
+        }
+
+        return null;
+    }
+
+    @Override
+    public <S extends SubLevelAccess> boolean findIncludingSubLevels(final Level level, final Vec3 origin, final boolean shouldCheckOrigin, @Nullable final S subLevel, final BiFunction<@Nullable S, BlockPos, Boolean> converter) {
+        return this.runIncludingSubLevels(level, origin, shouldCheckOrigin, subLevel, (s, pos) -> converter.apply(s, pos) ? Boolean.TRUE : null) != null;
+    }
+
+    @Override
+    public double distanceSquaredWithSubLevels(final Level level, final Vector3dc a, final Vector3dc b) {
+        return this.distanceSquaredWithSubLevels(level, a.x(), a.y(), a.z(), b.x(), b.y(), b.z());
+    }
+
+    @Override
+    public double distanceSquaredWithSubLevels(final Level level, final Position a, final Position b) {
+        return this.distanceSquaredWithSubLevels(level, a.x(), a.y(), a.z(), b.x(), b.y(), b.z());
+    }
+
+    @Override
+    public double distanceSquaredWithSubLevels(final Level level, final Vector3dc a, final double bX, final double bY, final double bZ) {
+        return this.distanceSquaredWithSubLevels(level, a.x(), a.y(), a.z(), bX, bY, bZ);
+    }
+
+    @Override
+    public double distanceSquaredWithSubLevels(final Level level, final Position a, final double bX, final double bY, final double bZ) {
+        return this.distanceSquaredWithSubLevels(level, a.x(), a.y(), a.z(), bX, bY, bZ);
+    }
+
+    @Override
+    public double distanceSquaredWithSubLevels(final Level level, final double aX, final double aY, final double aZ, final double bX, final double bY, final double bZ) {
+        final Vector3d a = this.projectOutOfSubLevel(level, new Vector3d(aX, aY, aZ));
+        final Vector3d b = this.projectOutOfSubLevel(level, new Vector3d(bX, bY, bZ));
+        return a.distanceSquared(b);
+    }
+
+    @Override
+    public Vector3d getVelocity(final Level level, final Vector3dc pos, final Vector3d dest) {
+        final ReferenceSubLevel subLevel = this.getContainingPoint(level, pos.x(), pos.z());
+        if (subLevel == null) {
+            return dest.zero();
+        }
+
+        return subLevel.getVelocity(pos, dest);
+    }
+
+    @Override
+    public Vec3 getVelocity(final Level level, final Vec3 pos) {
+        final ReferenceSubLevel subLevel = this.getContainingPoint(level, pos.x, pos.z);
+        if (subLevel == null) {
+            return Vec3.ZERO;
+        }
+
+        final Vector3d velocity = subLevel.getVelocity(new Vector3d(pos.x, pos.y, pos.z), new Vector3d());
+        return new Vec3(velocity.x, velocity.y, velocity.z);
+    }
+
+    @Override
+    public Vector3d getVelocity(final Level level, final SubLevelAccess subLevel, final Vector3dc pos, final Vector3d dest) {
+        return ReferenceSubLevelContainer.cast(subLevel).getVelocity(pos, dest);
+    }
+
+    @Override
+    public Vec3 getVelocity(final Level level, final SubLevelAccess subLevel, final Vec3 pos) {
+        final Vector3d velocity = ReferenceSubLevelContainer.cast(subLevel).getVelocity(new Vector3d(pos.x, pos.y, pos.z), new Vector3d());
+        return new Vec3(velocity.x, velocity.y, velocity.z);
+    }
+
+    @Override
+    public double[] getVelocities(final Level level, final double[] positions, final double[] dest, final int count) {
+        final ReferenceSubLevelContainer container = this.getContainerIfPresent(level);
+        if (container == null) {
+            Arrays.fill(dest, 0, count * 3, 0.0);
+            return dest;
+        }
+
+        return SableCompanionUtil.getVelocities(container::getContaining,
+                (subLevel, pos, out) -> ReferenceSubLevelContainer.cast(subLevel).getVelocity(pos, out),
+                null, null, positions, dest, count);
+    }
+
+    @Override
+    public Vector3d getVelocityRelativeToAir(final Level level, final Vector3dc pos, final Vector3d dest) {
+        // There is no wind, so the air is at rest everywhere
+        return this.getVelocity(level, pos, dest);
+    }
+
+    @Override
+    public Vec3 getVelocityRelativeToAir(final Level level, final Vec3 pos) {
+        return this.getVelocity(level, pos);
+    }
+
+    @Override
+    public double[] getVelocitiesRelativeToAir(final Level level, final double[] positions, final double[] dest, final int count) {
+        return this.getVelocities(level, positions, dest, count);
+    }
+
+    @Override
+    public @Nullable PlotGrid getPlotGrid(final Level level) {
+        final ReferenceSubLevelContainer container = this.getContainerIfPresent(level);
+        return container != null ? container.getPlotGrid() : null;
+    }
+
+    @Override
+    public boolean isInPlotGrid(final Level level, final int chunkX, final int chunkZ) {
+        final ReferenceSubLevelContainer container = this.getContainerIfPresent(level);
+        return container != null && container.isInPlotGrid(chunkX, chunkZ);
+    }
+
+    @Override
+    public Level getClientLevel() {
+        return this.clientLevel;
+    }
+}
@@ -0,0 +1,238 @@
+package dev.ryanhcode.sable.companion.testing;
+
+import dev.ryanhcode.sable.companion.ClientSubLevelAccess;
+import dev.ryanhcode.sable.companion.impl.SableCompanionUtil;
+import dev.ryanhcode.sable.companion.math.BoundingBox3d;
+import dev.ryanhcode.sable.companion.math.BoundingBox3dc;
+import dev.ryanhcode.sable.companion.math.Pose3d;
+import dev.ryanhcode.sable.companion.math.Pose3dc;
+import net.minecraft.core.SectionPos;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.Nullable;
+import org.joml.Vector3d;
+import org.joml.Vector3dc;
+
+import java.util.UUID;
+
+/**
+ * An in-memory sub-level with real pose and bounding box state, owned by a {@link ReferenceSubLevelContainer}.
+ *
+ * @since 1.5.0
+ */
+public final class ReferenceSubLevel implements ClientSubLevelAccess {
+
+    private final ReferenceSubLevelContainer container;
+    private final UUID uniqueId;
+    private final @Nullable String name;
+    private final int plotIndex;
+    private final int plotX;
+    private final int plotZ;
+
+    private final Pose3d logicalPose = new Pose3d();
+    private final Pose3d lastPose = new Pose3d();
+    private final Pose3d renderPose = new Pose3d();
+    private final BoundingBox3d localBounds = new BoundingBox3d();
+    private final BoundingBox3d bounds = new BoundingBox3d();
+    private final Vector3d linearVelocity = new Vector3d();
+    private final Vector3d angularVelocity = new Vector3d();
+
+    private float partialTick;
+    private boolean removed;
+
+    ReferenceSubLevel(final ReferenceSubLevelContainer container, final UUID uniqueId, @Nullable final String name, final int plotIndex, final int plotX, final int plotZ) {
+        this.container = container;
+        this.uniqueId = uniqueId;
+        this.name = name;
+        this.plotIndex = plotIndex;
+        this.plotX = plotX;
+        this.plotZ = plotZ;
+    }
+
+    /**
+     * Moves this sub-level to the given pose, keeping the current pose as the last pose.
+     *
+     * @param pose the new logical pose
+     * @return this
+     */
+    @Contract(value = "_->this", mutates = "this")
+    public ReferenceSubLevel move(final Pose3dc pose) {
+        this.lastPose.set(this.logicalPose);
+        this.logicalPose.set(pose);
+        this.updateBounds();
+        SableCompanionUtil.linearVelocity(this.lastPose, this.logicalPose, this.linearVelocity);
+        SableCompanionUtil.angularVelocity(this.lastPose, this.logicalPose, this.angularVelocity);
+        return this;
+    }
+
+    /**
+     * Teleports this sub-level to the given pose, setting both the logical and the last pose.
+     * The sub-level will have no velocity until it is moved again.
+     *
+     * @param pose the new pose
+     * @return this
+     */
+    @Contract(value = "_->this", mutates = "this")
+    public ReferenceSubLevel teleport(final Pose3dc pose) {
+        this.lastPose.set(pose);
+        this.logicalPose.set(pose);
+        this.updateBounds();
+        this.linearVelocity.zero();
+        this.angularVelocity.zero();
+        return this;
+    }
+
+    /**
+     * Sets the bounds of the contents of this sub-level.
+     *
+     * @param localBounds the bounds in plot coordinates
+     * @return this
+     */
+    @Contract(value = "_->this", mutates = "this")
+    public ReferenceSubLevel setLocalBounds(final BoundingBox3dc localBounds) {
+        this.localBounds.set(localBounds);
+        this.updateBounds();
+        return this;
+    }
+
+    /**
+     * Sets the partial tick used by {@link #renderPose()}.
+     *
+     * @param partialTick the partial tick, 0.0 to 1.0
+     */
+    public void setPartialTick(final float partialTick) {
+        this.partialTick = partialTick;
+    }
+
+    private void updateBounds() {
+        this.localBounds.transform(this.logicalPose, this.bounds);
+        this.container.onBoundsChanged(this);
+    }
+
+    void markRemoved() {
+        this.removed = true;
+    }
+
+    /**
+     * @return the container this sub-level belongs to
+     */
+    public ReferenceSubLevelContainer getContainer() {
+        return this.container;
+    }
+
+    /**
+     * @return if this sub-level has been removed from its container
+     */
+    public boolean isRemoved() {
+        return this.removed;
+    }
+
+    /**
+     * @return the index of the plot this sub-level occupies
+     */
+    public int getPlotIndex() {
+        return this.plotIndex;
+    }
+
+    /**
+     * @return the X index of the plot this sub-level occupies in the plot grid
+     */
+    public int getPlotX() {
+        return this.plotX;
+    }
+
+    /**
+     * @return the Z index of the plot this sub-level occupies in the plot grid
+     */
+    public int getPlotZ() {
+        return this.plotZ;
+    }
+
+    /**
+     * @return the minimum block X position of the plot this sub-level occupies
+     */
+    public int getPlotMinBlockX() {
+        return SectionPos.sectionToBlockCoord(this.container.getPlotMinChunkX(this.plotX));
+    }
+
+    /**
+     * @return the minimum block Z position of the plot this sub-level occupies
+     */
+    public int getPlotMinBlockZ() {
+        return SectionPos.sectionToBlockCoord(this.container.getPlotMinChunkZ(this.plotZ));
+    }
+
+    /**
+     * @return the bounds of the contents of this sub-level in plot coordinates
+     */
+    @Contract(pure = true)
+    public BoundingBox3dc localBounds() {
+        return this.localBounds;
+    }
+
+    /**
+     * Computes the global velocity of a point in this sub-level from the difference between the last and logical pose.
+     *
+     * @param pos  the position of the point in plot coordinates
+     * @param dest will hold the result
+     * @return the global velocity of the point stored in dest [m/s]
+     */
+    @Contract(value = "_,_->param2", mutates = "param2")
+    public Vector3d getVelocity(final Vector3dc pos, final Vector3d dest) {
+        final double x = pos.x(), y = pos.y(), z = pos.z();
+        this.lastPose.transformPosition(pos, dest);
+        final double lastX = dest.x, lastY = dest.y, lastZ = dest.z;
+        this.logicalPose.transformPosition(dest.set(x, y, z));
+        return dest.sub(lastX, lastY, lastZ).mul(SableCompanionUtil.TICKS_PER_SECOND);
+    }
+
+    @Override
+    public Pose3dc logicalPose() {
+        return this.logicalPose;
+    }
+
+    @Override
+    public Pose3dc lastPose() {
+        return this.lastPose;
+    }
+
+    @Override
+    public Vector3dc linearVelocity() {
+        return this.linearVelocity;
+    }
+
+    @Override
+    public Vector3dc angularVelocity() {
+        return this.angularVelocity;
+    }
+
+    @Override
+    public Pose3dc renderPose() {
+        return this.renderPose(this.partialTick);
+    }
+
+    @Override
+    public Pose3dc renderPose(final float partialTick) {
+        return this.lastPose.lerp(this.logicalPose, partialTick, this.renderPose);
+    }
+
+    @Override
+    public BoundingBox3dc boundingBox() {
+        return this.bounds;
+    }
+
+    @Override
+    public UUID getUniqueId() {
+        return this.uniqueId;
+    }
+
+    @Override
+    public @Nullable String getName() {
+        return this.name;
+    }
+
+    @Override
+    public String toString() {
+        return "ReferenceSubLevel{uniqueId=%s, name=%s, plotX=%d, plotZ=%d, pose=%s}"
+                .formatted(this.uniqueId, this.name, this.plotX, this.plotZ, this.logicalPose);
+    }
+}
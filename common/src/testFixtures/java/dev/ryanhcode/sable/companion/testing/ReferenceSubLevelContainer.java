@@ -0,0 +1,289 @@
+package dev.ryanhcode.sable.companion.testing;
+
+import dev.ryanhcode.sable.companion.PlotGrid;
+import dev.ryanhcode.sable.companion.SubLevelAccess;
+import dev.ryanhcode.sable.companion.math.BoundingBox3d;
+import dev.ryanhcode.sable.companion.math.BoundingBox3dc;
+import dev.ryanhcode.sable.companion.math.Pose3d;
+import dev.ryanhcode.sable.companion.math.Pose3dc;
+import dev.ryanhcode.sable.companion.spatial.SubLevelTree;
+import net.minecraft.core.SectionPos;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import java.util.*;
+
+/**
+ * Holds the sub-levels of a single level and the plot grid they are allocated in.
+ * <br>
+ * Plots are squares of {@code 1 << plotSizeBits} chunks laid out in a {@code gridWidth} by {@code gridWidth} grid,
+ * starting at the origin chunk. Global bounds are indexed in a {@link SubLevelTree}, which is updated whenever a
+ * sub-level moves. This container is not thread-safe.
+ *
+ * @since 1.5.0
+ */
+public final class ReferenceSubLevelContainer {
+
+    /**
+     * The default chunk position of the plot grid origin on both axes
+     */
+    public static final int DEFAULT_ORIGIN_CHUNK = 20_000_000 >> SectionPos.SECTION_BITS;
+
+    /**
+     * The default log2 of the side length of a plot in chunks
+     */
+    public static final int DEFAULT_PLOT_SIZE_BITS = 6;
+
+    /**
+     * The default amount of plots on each side of the plot grid
+     */
+    public static final int DEFAULT_GRID_WIDTH = 256;
+
+    private final int originChunkX;
+    private final int originChunkZ;
+    private final int plotSizeBits;
+    private final int gridWidth;
+
+    private final ReferenceSubLevel[] plots;
+    private final List<ReferenceSubLevel> subLevels = new ArrayList<>();
+    private final List<ReferenceSubLevel> subLevelsView = Collections.unmodifiableList(this.subLevels);
+    private final Map<UUID, ReferenceSubLevel> byUniqueId = new HashMap<>();
+    private final SubLevelTree<ReferenceSubLevel> tree = new SubLevelTree<>();
+    private int nextFreePlot;
+    private @Nullable PlotGrid plotGrid;
+
+    /**
+     * Creates a container with the default plot grid layout.
+     */
+    public ReferenceSubLevelContainer() {
+        this(DEFAULT_ORIGIN_CHUNK, DEFAULT_ORIGIN_CHUNK, DEFAULT_PLOT_SIZE_BITS, DEFAULT_GRID_WIDTH);
+    }
+
+    /**
+     * Creates a container with the given plot grid layout.
+     *
+     * @param originChunkX the minimum chunk X position of the plot grid
+     * @param originChunkZ the minimum chunk Z position of the plot grid
+     * @param plotSizeBits the log2 of the side length of a plot in chunks
+     * @param gridWidth    the amount of plots on each side of the plot grid
+     */
+    public ReferenceSubLevelContainer(final int originChunkX, final int originChunkZ, final int plotSizeBits, final int gridWidth) {
+        if (plotSizeBits < 0 || plotSizeBits > 16) {
+            throw new IllegalArgumentException("Plot size bits must be in [0, 16], got " + plotSizeBits);
+        }
+        if (gridWidth <= 0) {
+            throw new IllegalArgumentException("Grid width must be positive, got " + gridWidth);
+        }
+
+        this.originChunkX = originChunkX;
+        this.originChunkZ = originChunkZ;
+        this.plotSizeBits = plotSizeBits;
+        this.gridWidth = gridWidth;
+        this.plots = new ReferenceSubLevel[gridWidth * gridWidth];
+    }
+
+    /**
+     * Allocates a new sub-level in the first free plot.
+     *
+     * @param uniqueId    the unique ID of the sub-level
+     * @param name        the display name of the sub-level, if present
+     * @param localBounds the bounds of the sub-level contents, relative to the minimum block corner of its plot
+     * @param pose        the initial pose, with the rotation point relative to the minimum block corner of its plot
+     * @return the new sub-level
+     * @throws IllegalStateException if the plot grid is full
+     */
+    public ReferenceSubLevel allocate(final UUID uniqueId, @Nullable final String name, final BoundingBox3dc localBounds, final Pose3dc pose) {
+        if (this.byUniqueId.containsKey(uniqueId)) {
+            throw new IllegalArgumentException("Sub-level " + uniqueId + " already exists");
+        }
+
+        while (this.nextFreePlot < this.plots.length && this.plots[this.nextFreePlot] != null) {
+            this.nextFreePlot++;
+        }
+        if (this.nextFreePlot >= this.plots.length) {
+            throw new IllegalStateException("Plot grid is full");
+        }
+
+        final int plotIndex = this.nextFreePlot;
+        final ReferenceSubLevel subLevel = new ReferenceSubLevel(this, uniqueId, name, plotIndex, plotIndex % this.gridWidth, plotIndex / this.gridWidth);
+
+        final int offsetX = subLevel.getPlotMinBlockX();
+        final int offsetZ = subLevel.getPlotMinBlockZ();
+
+        final Pose3d plotPose = new Pose3d(pose);
+        plotPose.rotationPoint().add(offsetX, 0.0, offsetZ);
+
+        subLevel.setLocalBounds(localBounds.move(offsetX, 0.0, offsetZ, new BoundingBox3d()));
+        subLevel.teleport(plotPose);
+
+        this.plots[plotIndex] = subLevel;
+        this.plotGrid = null;
+        this.subLevels.add(subLevel);
+        this.byUniqueId.put(uniqueId, subLevel);
+        return subLevel;
+    }
+
+    /**
+     * Removes a sub-level and frees its plot.
+     *
+     * @param subLevel the sub-level to remove
+     * @return if the sub-level was present
+     */
+    public boolean remove(final ReferenceSubLevel subLevel) {
+        if (subLevel.getContainer() != this || this.plots[subLevel.getPlotIndex()] != subLevel) {
+            return false;
+        }
+
+        this.plots[subLevel.getPlotIndex()] = null;
+        this.plotGrid = null;
+        this.subLevels.remove(subLevel);
+        this.byUniqueId.remove(subLevel.getUniqueId());
+        this.tree.remove(subLevel);
+        this.nextFreePlot = Math.min(this.nextFreePlot, subLevel.getPlotIndex());
+        subLevel.markRemoved();
+        return true;
+    }
+
+    /**
+     * Removes all sub-levels.
+     */
+    public void clear() {
+        for (final ReferenceSubLevel subLevel : this.subLevels) {
+            subLevel.markRemoved();
+        }
+
+        Arrays.fill(this.plots, null);
+        this.plotGrid = null;
+        this.subLevels.clear();
+        this.byUniqueId.clear();
+        this.tree.clear();
+        this.nextFreePlot = 0;
+    }
+
+    void onBoundsChanged(final ReferenceSubLevel subLevel) {
+        if (!subLevel.isRemoved()) {
+            this.tree.update(subLevel);
+        }
+    }
+
+    /**
+     * Gets the sub-level that owns the plot containing the given chunk.
+     *
+     * @param chunkX the global chunk X position
+     * @param chunkZ the global chunk Z position
+     * @return the sub-level, or null if the chunk is outside the plot grid or in an empty plot
+     */
+    public @Nullable ReferenceSubLevel getContaining(final int chunkX, final int chunkZ) {
+        final int plotX = (chunkX - this.originChunkX) >> this.plotSizeBits;
+        final int plotZ = (chunkZ - this.originChunkZ) >> this.plotSizeBits;
+
+        if (plotX < 0 || plotZ < 0 || plotX >= this.gridWidth || plotZ >= this.gridWidth) {
+            return null;
+        }
+
+        return this.plots[plotZ * this.gridWidth + plotX];
+    }
+
+    /**
+     * @return if the given chunk is inside the plot grid
+     */
+    public boolean isInPlotGrid(final int chunkX, final int chunkZ) {
+        final int size = this.gridWidth << this.plotSizeBits;
+        return chunkX >= this.originChunkX && chunkZ >= this.originChunkZ && chunkX - this.originChunkX < size && chunkZ - this.originChunkZ < size;
+    }
+
+    /**
+     * Gets a snapshot of the plot grid, which is rebuilt on first access after a plot is allocated or freed.
+     *
+     * @return the plot grid
+     */
+    public PlotGrid getPlotGrid() {
+        PlotGrid plotGrid = this.plotGrid;
+        if (plotGrid == null) {
+            plotGrid = new PlotGrid(this.originChunkX, this.originChunkZ, this.plotSizeBits, this.gridWidth, this.plots);
+            this.plotGrid = plotGrid;
+        }
+
+        return plotGrid;
+    }
+
+    /**
+     * Collects all sub-levels with global bounds intersecting the given bounds.
+     *
+     * @param bounds the global bounds to check
+     * @param dest   the list to add the sub-levels to
+     * @return dest
+     */
+    public <T extends Collection<? super ReferenceSubLevel>> T collectIntersecting(final BoundingBox3dc bounds, final T dest) {
+        return this.tree.collectIntersecting(bounds, dest);
+    }
+
+    /**
+     * @return the bounding volume hierarchy over the global bounds of all sub-levels
+     */
+    public SubLevelTree<ReferenceSubLevel> getTree() {
+        return this.tree;
+    }
+
+    /**
+     * @return the sub-level with the given unique ID, or null if not present
+     */
+    public @Nullable ReferenceSubLevel get(final UUID uniqueId) {
+        return this.byUniqueId.get(uniqueId);
+    }
+
+    /**
+     * @return all sub-levels in this container, in allocation order
+     */
+    public @UnmodifiableView List<ReferenceSubLevel> getAll() {
+        return this.subLevelsView;
+    }
+
+    /**
+     * @return the minimum chunk X position of the plot with the given X index
+     */
+    public int getPlotMinChunkX(final int plotX) {
+        return this.originChunkX + (plotX << this.plotSizeBits);
+    }
+
+    /**
+     * @return the minimum chunk Z position of the plot with the given Z index
+     */
+    public int getPlotMinChunkZ(final int plotZ) {
+        return this.originChunkZ + (plotZ << this.plotSizeBits);
+    }
+
+    /**
+     * @return the log2 of the side length of a plot in chunks
+     */
+    public int getPlotSizeBits() {
+        return this.plotSizeBits;
+    }
+
+    /**
+     * @return the amount of plots on each side of the plot grid
+     */
+    public int getGridWidth() {
+        return this.gridWidth;
+    }
+
+    /**
+     * @return the amount of sub-levels in this container
+     */
+    public int size() {
+        return this.subLevels.size();
+    }
+
+    /**
+     * Casts a sub-level to a reference sub-level of this container.
+     *
+     * @throws IllegalArgumentException if the sub-level is not from this container
+     */
+    static ReferenceSubLevel cast(final SubLevelAccess subLevel) {
+        if (!(subLevel instanceof final ReferenceSubLevel reference)) {
+            throw new IllegalArgumentException("Not a reference sub-level: " + subLevel);
+        }
+
+        return reference;
+    }
+}
@@ -0,0 +1,131 @@
+package dev.ryanhcode.sable.companion.testing;
+
+import dev.ryanhcode.sable.companion.ClientSubLevelView;
+import dev.ryanhcode.sable.companion.PlotGrid;
+import dev.ryanhcode.sable.companion.SubLevelAccess;
+import dev.ryanhcode.sable.companion.SubLevelVisitor;
+import dev.ryanhcode.sable.companion.impl.SableCompanionUtil;
+import dev.ryanhcode.sable.companion.math.BoundingBox3dc;
+import net.minecraft.core.SectionPos;
+import net.minecraft.util.Mth;
+import net.minecraft.world.level.Level;
+import org.jetbrains.annotations.Nullable;
+import org.joml.Vector3d;
+import org.joml.Vector3dc;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link ClientSubLevelView} bound directly to a {@link ReferenceSubLevelContainer}, so queries skip the per-level
+ * container lookup of {@link ReferenceSableCompanion}.
+ * <br>
+ * The level is held weakly, so cached views do not keep unloaded levels alive.
+ *
+ * @since 1.5.0
+ */
+public final class ReferenceSubLevelView implements ClientSubLevelView {
+
+    private final ReferenceSableCompanion companion;
+    private final @Nullable WeakReference<Level> level;
+    private final ReferenceSubLevelContainer container;
+
+    ReferenceSubLevelView(final ReferenceSableCompanion companion, @Nullable final Level level, final ReferenceSubLevelContainer container) {
+        this.companion = companion;
+        this.level = level != null ? new WeakReference<>(level) : null;
+        this.container = container;
+    }
+
+    /**
+     * @return the container this view queries
+     */
+    public ReferenceSubLevelContainer getContainer() {
+        return this.container;
+    }
+
+    @Override
+    public ReferenceSableCompanion companion() {
+        return this.companion;
+    }
+
+    @Override
+    public Level level() {
+        return this.level != null ? this.level.get() : null;
+    }
+
+    @Override
+    public Iterable<ReferenceSubLevel> getAllIntersecting(final BoundingBox3dc bounds) {
+        return this.container.collectIntersecting(bounds, new ArrayList<>());
+    }
+
+    @Override
+    public <T extends List<? super SubLevelAccess>> T getAllIntersecting(final BoundingBox3dc bounds, final T dest) {
+        dest.clear();
+        return this.container.collectIntersecting(bounds, dest);
+    }
+
+    @Override
+    public boolean forEachIntersecting(final BoundingBox3dc bounds, final SubLevelVisitor visitor) {
+        return this.container.getTree().forEachIntersecting(bounds, visitor::visit);
+    }
+
+    @Override
+    public boolean anyIntersecting(final BoundingBox3dc bounds) {
+        return !this.container.getTree().forEachIntersecting(bounds, subLevel -> false);
+    }
+
+    @Override
+    public @Nullable ReferenceSubLevel getContaining(final int chunkX, final int chunkZ) {
+        return this.container.getContaining(chunkX, chunkZ);
+    }
+
+    @Override
+    public Vector3d projectOutOfSubLevel(final Vector3dc pos, final Vector3d dest) {
+        final ReferenceSubLevel subLevel = this.getContainingPoint(pos);
+        if (subLevel == null) {
+            return dest.set(pos);
+        }
+
+        return subLevel.logicalPose().transformPosition(pos, dest);
+    }
+
+    @Override
+    public double[] projectOutOfSubLevel(final double[] positions, final int count) {
+        return SableCompanionUtil.projectOutOfSubLevels(this.container::getContaining, positions, count);
+    }
+
+    @Override
+    public Vector3d getVelocity(final Vector3dc pos, final Vector3d dest) {
+        final ReferenceSubLevel subLevel = this.getContainingPoint(pos);
+        if (subLevel == null) {
+            return dest.zero();
+        }
+
+        return subLevel.getVelocity(pos, dest);
+    }
+
+    @Override
+    public Vector3d getVelocityRelativeToAir(final Vector3dc pos, final Vector3d dest) {
+        return this.getVelocity(pos, dest);
+    }
+
+    @Override
+    public PlotGrid getPlotGrid() {
+        return this.container.getPlotGrid();
+    }
+
+    @Override
+    public boolean isInPlotGrid(final int chunkX, final int chunkZ) {
+        return this.container.isInPlotGrid(chunkX, chunkZ);
+    }
+
+    private @Nullable ReferenceSubLevel getContainingPoint(final Vector3dc pos) {
+        return this.container.getContaining(Mth.floor(pos.x()) >> SectionPos.SECTION_BITS, Mth.floor(pos.z()) >> SectionPos.SECTION_BITS);
+    }
+
+    @Override
+    public String toString() {
+        return "ReferenceSubLevelView{level=" + this.level() + ", subLevels=" + this.container.size() + "}";
+    }
+}
@@ -0,0 +1,46 @@
+package dev.ryanhcode.sable.companion.math;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API kernels for bulk transforms. Lives in the {@code vector} source set, the only one compiled against the
+ * {@code jdk.incubator.vector} module, and is only instantiated reflectively once {@link VectorSupport} has found it.
+ */
+final class VectorizedTransforms implements PointTransformKernel {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    VectorizedTransforms() {
+    }
+
+    @Override
+    public boolean hasPointSupport() {
+        return SPECIES.length() > 1;
+    }
+
+    /**
+     * Transforms as many whole vectors of points as fit in the run, stored as separate coordinate arrays in place.
+     *
+     * @return the index of the first point left for the scalar loop
+     */
+    @Override
+    public int transform(final double m00, final double m01, final double m02,
+                         final double m10, final double m11, final double m12,
+                         final double m20, final double m21, final double m22,
+                         final double m30, final double m31, final double m32,
+                         final double[] xs, final double[] ys, final double[] zs, final int offset, final int count) {
+        final int end = offset + SPECIES.loopBound(count);
+        for (int i = offset; i < end; i += SPECIES.length()) {
+            final DoubleVector x = DoubleVector.fromArray(SPECIES, xs, i);
+            final DoubleVector y = DoubleVector.fromArray(SPECIES, ys, i);
+            final DoubleVector z = DoubleVector.fromArray(SPECIES, zs, i);
+
+            x.mul(m00).add(y.mul(m10)).add(z.mul(m20)).add(m30).intoArray(xs, i);
+            x.mul(m01).add(y.mul(m11)).add(z.mul(m21)).add(m31).intoArray(ys, i);
+            x.mul(m02).add(y.mul(m12)).add(z.mul(m22)).add(m32).intoArray(zs, i);
+        }
+
+        return end;
+    }
+}